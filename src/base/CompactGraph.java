@@ -0,0 +1,285 @@
+package base;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ToDoubleBiFunction;
+
+/**
+ * Diese Klasse representiert eine unveränderbare Momentaufnahme eines {@link Graph} im CSR-Format (compressed sparse row).
+ * Die Nachbarn des Knotens mit dem Index i liegen in den parallelen Arrays für Zielknoten, Gewichte und Kanten
+ * an den Positionen {@link #getOffset(int) getOffset(i)} bis {@link #getEnd(int) getEnd(i)} - 1.
+ * Jede ungerichtete Kante ist dabei zweimal enthalten, einmal für jede Richtung.
+ * Die Knotenindizes entsprechen {@link Node#getId()}.
+ *
+ * Eine Instanz wird über {@link Graph#freeze()} erzeugt.
+ * @param <T> Die zugrundeliegende Datenstruktur des Graphen
+ */
+public final class CompactGraph<T> {
+
+    private final List<Node<T>> nodes;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private final List<Edge<T>> edges;
+
+    /**
+     * Erstellt die Momentaufnahme eines Graphen
+     * @param graph der Graph
+     * @param weightFunction berechnet das Gewicht einer Kante aus den Werten beider Knoten
+     */
+    CompactGraph(Graph<T> graph, ToDoubleBiFunction<? super T, ? super T> weightFunction) {
+        List<Node<T>> graphNodes = graph.getNodes();
+        int nodeCount = graphNodes.size();
+
+        this.nodes = Collections.unmodifiableList(new ArrayList<>(graphNodes));
+        this.offsets = new int[nodeCount + 1];
+
+        for(int i = 0; i < nodeCount; i++)
+            this.offsets[i + 1] = this.offsets[i] + graph.getEdges(graphNodes.get(i)).size();
+
+        int slotCount = this.offsets[nodeCount];
+        this.targets = new int[slotCount];
+        this.weights = new double[slotCount];
+        List<Edge<T>> slotEdges = new ArrayList<>(slotCount);
+
+        int slot = 0;
+        for(Node<T> node : graphNodes) {
+            for(Edge<T> edge : graph.getEdges(node)) {
+                Node<T> other = edge.getOtherNode(node);
+                this.targets[slot] = other.getId();
+                this.weights[slot] = weightFunction.applyAsDouble(node.getValue(), other.getValue());
+                slotEdges.add(edge);
+                slot++;
+            }
+        }
+
+        this.edges = Collections.unmodifiableList(slotEdges);
+    }
+
+    /**
+     * Gibt die Anzahl der Knoten zurück
+     * @return die Anzahl der Knoten
+     */
+    public int getNodeCount() {
+        return this.nodes.size();
+    }
+
+    /**
+     * Gibt die Anzahl der Einträge in den Nachbarschafts-Arrays zurück. Das entspricht der doppelten Anzahl an Kanten.
+     * @return die Anzahl der gerichteten Einträge
+     */
+    public int getSlotCount() {
+        return this.targets.length;
+    }
+
+    /**
+     * Gibt den Knoten mit dem angegebenen Index zurück
+     * @param id der Index des Knotens
+     * @return der Knoten
+     */
+    public Node<T> getNode(int id) {
+        return this.nodes.get(id);
+    }
+
+    /**
+     * Gibt alle Knoten in der Reihenfolge ihrer Indizes zurück
+     * @return eine unveränderbare Liste aller Knoten
+     */
+    public List<Node<T>> getNodes() {
+        return this.nodes;
+    }
+
+    /**
+     * Gibt die erste Position der Nachbarn eines Knotens zurück
+     * @param id der Index des Knotens
+     * @return die erste Position in den Nachbarschafts-Arrays
+     */
+    public int getOffset(int id) {
+        return this.offsets[id];
+    }
+
+    /**
+     * Gibt die Position hinter dem letzten Nachbarn eines Knotens zurück
+     * @param id der Index des Knotens
+     * @return die Position hinter dem letzten Nachbarn
+     */
+    public int getEnd(int id) {
+        return this.offsets[id + 1];
+    }
+
+    /**
+     * Gibt den Grad eines Knotens zurück
+     * @param id der Index des Knotens
+     * @return die Anzahl der angrenzenden Kanten
+     */
+    public int getDegree(int id) {
+        return this.offsets[id + 1] - this.offsets[id];
+    }
+
+    /**
+     * Gibt den Index des Nachbarknotens an der angegebenen Position zurück
+     * @param slot die Position in den Nachbarschafts-Arrays
+     * @return der Index des Nachbarknotens
+     */
+    public int getTarget(int slot) {
+        return this.targets[slot];
+    }
+
+    /**
+     * Gibt das Gewicht der Kante an der angegebenen Position zurück
+     * @param slot die Position in den Nachbarschafts-Arrays
+     * @return das Gewicht der Kante
+     */
+    public double getWeight(int slot) {
+        return this.weights[slot];
+    }
+
+    /**
+     * Gibt die ursprüngliche Kante an der angegebenen Position zurück
+     * @param slot die Position in den Nachbarschafts-Arrays
+     * @return die Kante des Graphen
+     */
+    public Edge<T> getEdge(int slot) {
+        return this.edges.get(slot);
+    }
+
+    /**
+     * Überprüft mittels Breitensuche, ob alle Knoten erreichbar sind.
+     * @return true, wenn alle Knoten erreichbar sind
+     */
+    public boolean isConnected() {
+        int nodeCount = getNodeCount();
+        if(nodeCount == 0)
+            return true;
+
+        boolean[] visited = new boolean[nodeCount];
+        int[] queue = new int[nodeCount];
+        int head = 0, tail = 0;
+
+        visited[0] = true;
+        queue[tail++] = 0;
+        while(head < tail) {
+            int current = queue[head++];
+            for(int slot = this.offsets[current]; slot < this.offsets[current + 1]; slot++) {
+                int target = this.targets[slot];
+                if(!visited[target]) {
+                    visited[target] = true;
+                    queue[tail++] = target;
+                }
+            }
+        }
+
+        return tail == nodeCount;
+    }
+
+    /**
+     * Berechnet die kürzesten Distanzen von einem Knoten zu allen anderen Knoten (Dijkstra) anhand der Kantengewichte.
+     * Im Gegensatz zu {@link GraphAlgorithm} gelten dabei alle Kanten und Knoten als passierbar.
+     * @param source der Index des Startknotens
+     * @param result das Ergebnis-Array, nicht erreichbare Knoten erhalten {@link Double#POSITIVE_INFINITY}
+     * @param offset die Position in result, an der die Distanz des Knotens 0 gespeichert wird
+     */
+    public void shortestDistances(int source, double[] result, int offset) {
+        shortestDistances(source, result, offset, new IndexedMinHeap(getNodeCount()));
+    }
+
+    /**
+     * Wie {@link #shortestDistances(int, double[], int)}, verwendet aber einen vorhandenen, leeren Heap
+     */
+    void shortestDistances(int source, double[] result, int offset, IndexedMinHeap queue) {
+        int nodeCount = getNodeCount();
+        Arrays.fill(result, offset, offset + nodeCount, Double.POSITIVE_INFINITY);
+        result[offset + source] = 0;
+        queue.insertOrDecrease(source, 0);
+
+        while(!queue.isEmpty()) {
+            int current = queue.poll();
+            double value = result[offset + current];
+            for(int slot = this.offsets[current]; slot < this.offsets[current + 1]; slot++) {
+                int target = this.targets[slot];
+                double newValue = value + this.weights[slot];
+                if(newValue < result[offset + target]) {
+                    result[offset + target] = newValue;
+                    queue.insertOrDecrease(target, newValue);
+                }
+            }
+        }
+    }
+
+    /**
+     * Berechnet die kürzesten Distanzen zwischen allen Knotenpaaren, siehe {@link #allPairsDistances(ForkJoinPool)}.
+     * Die Suchen werden dabei im gemeinsamen {@link ForkJoinPool#commonPool()} ausgeführt.
+     * @return die Distanzen, die Distanz von a nach b liegt an Position a * n + b
+     */
+    public double[] allPairsDistances() {
+        return allPairsDistances(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Berechnet die kürzesten Distanzen zwischen allen Knotenpaaren mit einer Suche pro Startknoten
+     * ({@link #shortestDistances(int, double[], int)}). Die Startknoten werden rekursiv in Bereiche aufgeteilt,
+     * die parallel im angegebenen Pool abgearbeitet werden. Da die Momentaufnahme unveränderbar ist und jeder Bereich
+     * nur seine eigenen Zeilen des Ergebnisses schreibt, ist dafür keine Synchronisierung nötig.
+     * @param pool der Pool, in dem die Suchen ausgeführt werden
+     * @return die Distanzen, die Distanz von a nach b liegt an Position a * n + b,
+     *         nicht erreichbare Knoten erhalten {@link Double#POSITIVE_INFINITY}
+     * @throws IllegalArgumentException falls die Matrix für die Anzahl der Knoten nicht in ein Array passt
+     */
+    public double[] allPairsDistances(ForkJoinPool pool) {
+        int nodeCount = getNodeCount();
+        int size;
+        try {
+            size = Math.multiplyExact(nodeCount, nodeCount);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Zu viele Knoten für eine Distanzmatrix: " + nodeCount, e);
+        }
+
+        double[] result = new double[size];
+        if(nodeCount == 0)
+            return result;
+
+        // Mehrere Bereiche pro Thread, damit ungleich lange Suchen ausgeglichen werden können
+        int grain = Math.max(1, nodeCount / (pool.getParallelism() * 8));
+        pool.invoke(new AllPairsTask(result, 0, nodeCount, grain));
+        return result;
+    }
+
+    /**
+     * Berechnet die Zeilen der Startknoten from bis to - 1 für {@link #allPairsDistances(ForkJoinPool)}
+     */
+    private final class AllPairsTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double[] result;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        private AllPairsTask(double[] result, int from, int to, int grain) {
+            this.result = result;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if(to - from <= grain) {
+                int nodeCount = getNodeCount();
+                IndexedMinHeap queue = new IndexedMinHeap(nodeCount);
+                for(int source = from; source < to; source++)
+                    shortestDistances(source, result, source * nodeCount, queue);
+
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new AllPairsTask(result, from, middle, grain), new AllPairsTask(result, middle, to, grain));
+        }
+    }
+}
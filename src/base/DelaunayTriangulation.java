@@ -0,0 +1,389 @@
+package base;
+
+import java.util.Arrays;
+
+/**
+ * Berechnet die Delaunay-Triangulierung einer Punktmenge mit dem Bowyer-Watson-Algorithmus.
+ * Die Punkte werden nacheinander in eine Triangulierung eingefügt, die zu Beginn nur aus einem großen Dreieck um alle Punkte besteht.
+ * Für jeden Punkt wird das enthaltende Dreieck gesucht, indem von dem zuletzt erzeugten Dreieck aus über die Nachbarn gelaufen wird.
+ * Anschließend werden alle Dreiecke entfernt, deren Umkreis den Punkt enthält, und das entstandene Loch mit Dreiecken zum neuen Punkt gefüllt.
+ * Da die Punkte vorher entlang eines schlangenförmigen Rasters sortiert werden, liegen aufeinanderfolgende Punkte nah beieinander
+ * und die Suche ist kurz. Für gleichmäßig verteilte Punkte ergibt sich so eine erwartete Laufzeit von O(n log n).
+ *
+ * Aus der Triangulierung lassen sich der Gabriel-Graph ({@link #getGabrielEdges()}) und der Relative-Nachbarschafts-Graph
+ * ({@link #getRelativeNeighbourhoodEdges()}) ableiten. Beide sind Teilgraphen der Triangulierung, also kreuzungsfrei,
+ * und enthalten den minimalen Spannbaum, sind also zusammenhängend.
+ *
+ * Kanten werden jeweils als flaches Array zurückgegeben: Die Kante i verbindet die Punkte edges[2 * i] und edges[2 * i + 1].
+ */
+public final class DelaunayTriangulation {
+
+    // Die Eckpunkte des umgebenden Dreiecks liegen so weit außerhalb, dass sie die Triangulierung der echten Punkte nicht beeinflussen
+    private static final double SUPER_TRIANGLE_SIZE = 10000;
+
+    private final int pointCount;
+    private final double[] xs;
+    private final double[] ys;
+
+    // Dreieck t hat die Eckpunkte vertices[3t..3t+2] gegen den Uhrzeigersinn.
+    // neighbours[3t + i] ist das Dreieck gegenüber von Eckpunkt i, also an der Kante (i + 1, i + 2), oder -1
+    private int[] vertices;
+    private int[] neighbours;
+    private boolean[] removed;
+    private int triangleCount;
+
+    // Das neue Dreieck, dessen Kante am jeweiligen Punkt beginnt, siehe #insert(int, int)
+    private final int[] startTriangle;
+
+    private final int[] edges;
+    private final int[] opposite;
+
+    /**
+     * Berechnet die Triangulierung der angegebenen Punkte. Doppelte Punkte werden nur einmal berücksichtigt.
+     * @param x die X-Koordinaten der Punkte
+     * @param y die Y-Koordinaten der Punkte, in derselben Reihenfolge
+     */
+    public DelaunayTriangulation(double[] x, double[] y) {
+        if(x.length != y.length)
+            throw new IllegalArgumentException("x und y müssen gleich lang sein");
+
+        this.pointCount = x.length;
+        this.xs = Arrays.copyOf(x, pointCount + 3);
+        this.ys = Arrays.copyOf(y, pointCount + 3);
+        this.vertices = new int[3 * Math.max(16, 2 * pointCount)];
+        this.neighbours = new int[vertices.length];
+        this.removed = new boolean[vertices.length / 3];
+        this.startTriangle = new int[pointCount + 3];
+
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for(int i = 0; i < pointCount; i++) {
+            minX = Math.min(minX, x[i]);
+            maxX = Math.max(maxX, x[i]);
+            minY = Math.min(minY, y[i]);
+            maxY = Math.max(maxY, y[i]);
+        }
+
+        if(pointCount == 0) {
+            minX = minY = maxX = maxY = 0;
+        }
+
+        double size = Math.max(1, Math.max(maxX - minX, maxY - minY)) * SUPER_TRIANGLE_SIZE;
+        double centerX = (minX + maxX) / 2, centerY = (minY + maxY) / 2;
+        setPoint(pointCount, centerX - 2 * size, centerY - size);
+        setPoint(pointCount + 1, centerX + 2 * size, centerY - size);
+        setPoint(pointCount + 2, centerX, centerY + 2 * size);
+        addTriangle(pointCount, pointCount + 1, pointCount + 2);
+        neighbours[0] = neighbours[1] = neighbours[2] = -1;
+
+        int last = 0;
+        for(int point : insertionOrder(minX, minY, maxX, maxY))
+            last = insert(point, last);
+
+        // Jede Kante zwischen echten Punkten liegt in genau zwei Dreiecken, in einem davon mit aufsteigenden Indizes
+        int[] edgeBuffer = new int[6 * Math.max(1, pointCount)];
+        int[] oppositeBuffer = new int[edgeBuffer.length];
+        int edgeCount = 0;
+        for(int t = 0; t < triangleCount; t++) {
+            if(removed[t])
+                continue;
+
+            for(int i = 0; i < 3; i++) {
+                int a = vertices[3 * t + (i + 1) % 3];
+                int b = vertices[3 * t + (i + 2) % 3];
+                if(a < b && b < pointCount) {
+                    if(2 * edgeCount + 2 > edgeBuffer.length) {
+                        edgeBuffer = Arrays.copyOf(edgeBuffer, edgeBuffer.length * 2);
+                        oppositeBuffer = Arrays.copyOf(oppositeBuffer, oppositeBuffer.length * 2);
+                    }
+
+                    edgeBuffer[2 * edgeCount] = a;
+                    edgeBuffer[2 * edgeCount + 1] = b;
+                    oppositeBuffer[2 * edgeCount] = vertices[3 * t + i];
+                    oppositeBuffer[2 * edgeCount + 1] = oppositeVertex(neighbours[3 * t + i], t);
+                    edgeCount++;
+                }
+            }
+        }
+
+        this.edges = Arrays.copyOf(edgeBuffer, 2 * edgeCount);
+        this.opposite = Arrays.copyOf(oppositeBuffer, 2 * edgeCount);
+
+        // Der Arbeitsspeicher der Triangulierung wird nicht mehr benötigt
+        this.vertices = null;
+        this.neighbours = null;
+        this.removed = null;
+    }
+
+    private void setPoint(int index, double x, double y) {
+        xs[index] = x;
+        ys[index] = y;
+    }
+
+    /**
+     * Sortiert die Punkte zeilenweise in einem Raster mit etwa zwei Punkten pro Zelle, jede zweite Zeile von rechts nach links
+     * @return die Indizes der Punkte in Einfügereihenfolge
+     */
+    private int[] insertionOrder(double minX, double minY, double maxX, double maxY) {
+        int cells = Math.max(1, (int) Math.sqrt(pointCount / 2.0));
+        double cellWidth = Math.max(1e-9, (maxX - minX) / cells);
+        double cellHeight = Math.max(1e-9, (maxY - minY) / cells);
+
+        long[] keys = new long[pointCount];
+        for(int i = 0; i < pointCount; i++) {
+            int column = Math.min(cells - 1, (int) ((xs[i] - minX) / cellWidth));
+            int row = Math.min(cells - 1, (int) ((ys[i] - minY) / cellHeight));
+            long cell = (long) row * cells + (row % 2 == 0 ? column : cells - 1 - column);
+            keys[i] = (cell << 32) | i;
+        }
+
+        Arrays.sort(keys);
+        int[] order = new int[pointCount];
+        for(int i = 0; i < pointCount; i++)
+            order[i] = (int) keys[i];
+
+        return order;
+    }
+
+    private int addTriangle(int a, int b, int c) {
+        if(3 * triangleCount + 3 > vertices.length) {
+            vertices = Arrays.copyOf(vertices, vertices.length * 2);
+            neighbours = Arrays.copyOf(neighbours, neighbours.length * 2);
+            removed = Arrays.copyOf(removed, removed.length * 2);
+        }
+
+        int t = triangleCount++;
+        vertices[3 * t] = a;
+        vertices[3 * t + 1] = b;
+        vertices[3 * t + 2] = c;
+        return t;
+    }
+
+    /**
+     * Fügt einen Punkt in die Triangulierung ein
+     * @param point der Index des Punkts
+     * @param start ein Dreieck, bei dem die Suche beginnt
+     * @return eines der neuen Dreiecke
+     */
+    private int insert(int point, int start) {
+        int containing = locate(point, start);
+        for(int i = 0; i < 3; i++) {
+            int vertex = vertices[3 * containing + i];
+            if(xs[vertex] == xs[point] && ys[vertex] == ys[point])
+                return containing;
+        }
+
+        // Alle Dreiecke, deren Umkreis den Punkt enthält, bilden ein zusammenhängendes Loch um den Punkt
+        int[] cavity = new int[8];
+        int cavitySize = 0, processed = 0;
+        cavity[cavitySize++] = containing;
+        removed[containing] = true;
+        while(processed < cavitySize) {
+            int t = cavity[processed++];
+            for(int i = 0; i < 3; i++) {
+                int neighbour = neighbours[3 * t + i];
+                if(neighbour != -1 && !removed[neighbour] && inCircumcircle(neighbour, point)) {
+                    if(cavitySize == cavity.length)
+                        cavity = Arrays.copyOf(cavity, cavitySize * 2);
+
+                    cavity[cavitySize++] = neighbour;
+                    removed[neighbour] = true;
+                }
+            }
+        }
+
+        // Jede Randkante (a, b) des Lochs bildet mit dem Punkt ein neues Dreieck
+        int firstNew = triangleCount;
+        for(int c = 0; c < cavitySize; c++) {
+            int t = cavity[c];
+            for(int i = 0; i < 3; i++) {
+                int neighbour = neighbours[3 * t + i];
+                if(neighbour != -1 && removed[neighbour])
+                    continue;
+
+                int a = vertices[3 * t + (i + 1) % 3];
+                int b = vertices[3 * t + (i + 2) % 3];
+                int created = addTriangle(a, b, point);
+                neighbours[3 * created + 2] = neighbour;
+                if(neighbour != -1) {
+                    for(int j = 0; j < 3; j++) {
+                        if(neighbours[3 * neighbour + j] == t)
+                            neighbours[3 * neighbour + j] = created;
+                    }
+                }
+
+                startTriangle[a] = created;
+            }
+        }
+
+        // Das Dreieck (a, b, p) grenzt an der Kante (b, p) an das Dreieck, das bei b beginnt
+        for(int t = firstNew; t < triangleCount; t++) {
+            int next = startTriangle[vertices[3 * t + 1]];
+            neighbours[3 * t] = next;
+            neighbours[3 * next + 1] = t;
+        }
+
+        return triangleCount - 1;
+    }
+
+    /**
+     * Sucht das Dreieck, das den Punkt enthält, indem über die Kante gelaufen wird, auf deren anderer Seite der Punkt liegt
+     */
+    private int locate(int point, int start) {
+        int t = start;
+        for(int steps = 0; steps < triangleCount; steps++) {
+            int next = -1;
+            for(int i = 0; i < 3 && next == -1; i++) {
+                int a = vertices[3 * t + (i + 1) % 3];
+                int b = vertices[3 * t + (i + 2) % 3];
+                if(orientation(a, b, point) < 0)
+                    next = neighbours[3 * t + i];
+            }
+
+            if(next == -1)
+                return t;
+
+            t = next;
+        }
+
+        // Nur bei numerischen Sonderfällen: alle Dreiecke durchsuchen
+        for(t = 0; t < triangleCount; t++) {
+            if(!removed[t] && orientation(vertices[3 * t], vertices[3 * t + 1], point) >= 0
+                    && orientation(vertices[3 * t + 1], vertices[3 * t + 2], point) >= 0
+                    && orientation(vertices[3 * t + 2], vertices[3 * t], point) >= 0)
+                return t;
+        }
+
+        return start;
+    }
+
+    private int oppositeVertex(int triangle, int neighbour) {
+        if(triangle == -1)
+            return -1;
+
+        for(int i = 0; i < 3; i++) {
+            if(neighbours[3 * triangle + i] == neighbour)
+                return vertices[3 * triangle + i];
+        }
+
+        return -1;
+    }
+
+    /**
+     * @return positiv, wenn der Punkt p links der Geraden von a nach b liegt, 0 auf der Geraden, sonst negativ
+     */
+    private double orientation(int a, int b, int p) {
+        return (xs[b] - xs[a]) * (ys[p] - ys[a]) - (ys[b] - ys[a]) * (xs[p] - xs[a]);
+    }
+
+    /**
+     * @return true, wenn der Punkt echt innerhalb des Umkreises des Dreiecks liegt
+     */
+    private boolean inCircumcircle(int triangle, int p) {
+        int a = vertices[3 * triangle], b = vertices[3 * triangle + 1], c = vertices[3 * triangle + 2];
+        double adx = xs[a] - xs[p], ady = ys[a] - ys[p];
+        double bdx = xs[b] - xs[p], bdy = ys[b] - ys[p];
+        double cdx = xs[c] - xs[p], cdy = ys[c] - ys[p];
+
+        double determinant = (adx * adx + ady * ady) * (bdx * cdy - cdx * bdy)
+                - (bdx * bdx + bdy * bdy) * (adx * cdy - cdx * ady)
+                + (cdx * cdx + cdy * cdy) * (adx * bdy - bdx * ady);
+        return determinant > 0;
+    }
+
+    private double squaredDistance(int a, int b) {
+        double dx = xs[a] - xs[b], dy = ys[a] - ys[b];
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Gibt alle Kanten der Triangulierung zurück
+     * @return die Kanten als Paare von Punktindizes
+     */
+    public int[] getEdges() {
+        return edges.clone();
+    }
+
+    /**
+     * Gibt die Kanten des Gabriel-Graphen zurück. Eine Kante (a, b) ist enthalten, wenn kein anderer Punkt im oder auf dem Kreis mit dem
+     * Durchmesser ab liegt. Dafür genügt es, die beiden gegenüberliegenden Punkte der angrenzenden Dreiecke zu prüfen.
+     * @return die Kanten als Paare von Punktindizes
+     */
+    public int[] getGabrielEdges() {
+        int[] result = new int[edges.length];
+        int count = 0;
+        for(int e = 0; e < edges.length; e += 2) {
+            int a = edges[e], b = edges[e + 1];
+            boolean keep = true;
+            for(int side = 0; side < 2 && keep; side++) {
+                int c = opposite[e + side];
+                if(c != -1 && c < pointCount)
+                    keep = (xs[a] - xs[c]) * (xs[b] - xs[c]) + (ys[a] - ys[c]) * (ys[b] - ys[c]) > 0;
+            }
+
+            if(keep) {
+                result[count++] = a;
+                result[count++] = b;
+            }
+        }
+
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Gibt die Kanten des Relative-Nachbarschafts-Graphen zurück. Eine Kante (a, b) ist enthalten, wenn kein anderer Punkt
+     * näher an a und b liegt als a und b zueinander, wenn also die Linse zwischen a und b leer ist.
+     * Die Linse liegt im Kreis mit dem Radius |ab| * sqrt(3) / 2 um die Mitte der Kante, die Punkte darin werden über ein
+     * {@link SpatialGrid} gesucht.
+     * @return die Kanten als Paare von Punktindizes
+     */
+    public int[] getRelativeNeighbourhoodEdges() {
+        if(edges.length == 0)
+            return new int[0];
+
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for(int i = 0; i < pointCount; i++) {
+            minX = Math.min(minX, xs[i]);
+            minY = Math.min(minY, ys[i]);
+            maxX = Math.max(maxX, xs[i]);
+            maxY = Math.max(maxY, ys[i]);
+        }
+
+        // Etwa ein Punkt pro Zelle
+        double cellSize = Math.max(1, Math.sqrt((maxX - minX) * (maxY - minY) / Math.max(1, pointCount)));
+        SpatialGrid<Integer> grid = new SpatialGrid<>(maxX - minX, maxY - minY, cellSize);
+        for(int i = 0; i < pointCount; i++)
+            grid.add(i, xs[i] - minX, ys[i] - minY);
+
+        int[] result = new int[edges.length];
+        int count = 0;
+        for(int e = 0; e < edges.length; e += 2) {
+            int a = edges[e], b = edges[e + 1];
+            double length = squaredDistance(a, b);
+            double centerX = (xs[a] + xs[b]) / 2 - minX, centerY = (ys[a] + ys[b]) / 2 - minY;
+            boolean keep = true;
+            for(int c : grid.getWithin(centerX, centerY, Math.sqrt(0.75 * length) + 1e-9)) {
+                if(c != a && c != b && Math.max(squaredDistance(a, c), squaredDistance(b, c)) < length) {
+                    keep = false;
+                    break;
+                }
+            }
+
+            if(keep) {
+                result[count++] = a;
+                result[count++] = b;
+            }
+        }
+
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Gibt die Anzahl der Punkte zurück
+     * @return die Anzahl der Punkte
+     */
+    public int getPointCount() {
+        return pointCount;
+    }
+}
@@ -0,0 +1,123 @@
+package base;
+
+import java.util.Arrays;
+
+/**
+ * Diese Klasse representiert eine Union-Find-Struktur (disjoint set) über den Elementen 0 bis n - 1.
+ * Die Mengen werden als Bäume gespeichert, {@link #find(int)} verkürzt dabei die Pfade zur Wurzel
+ * und {@link #union(int, int)} hängt immer den kleineren Baum an den größeren.
+ * Beide Operationen benötigen dadurch nahezu konstante Zeit.
+ */
+public class DisjointSet {
+
+    private int[] parent;
+    private int[] size;
+    private int elementCount;
+    private int setCount;
+
+    /**
+     * Erstellt eine neue Struktur, in der jedes Element eine eigene Menge bildet
+     * @param elementCount die Anzahl der Elemente
+     */
+    public DisjointSet(int elementCount) {
+        this.parent = new int[Math.max(elementCount, 8)];
+        this.size = new int[this.parent.length];
+        for(int i = 0; i < elementCount; i++)
+            add();
+    }
+
+    /**
+     * Fügt ein neues Element hinzu, das eine eigene Menge bildet
+     * @return der Index des neuen Elements
+     */
+    public int add() {
+        if(elementCount == parent.length) {
+            parent = Arrays.copyOf(parent, parent.length * 2);
+            size = Arrays.copyOf(size, size.length * 2);
+        }
+
+        parent[elementCount] = elementCount;
+        size[elementCount] = 1;
+        setCount++;
+        return elementCount++;
+    }
+
+    /**
+     * Gibt den Repräsentanten der Menge zurück, in der das Element liegt
+     * @param element das Element
+     * @return der Repräsentant der Menge
+     */
+    public int find(int element) {
+        int root = element;
+        while(parent[root] != root)
+            root = parent[root];
+
+        // Pfadkompression
+        while(parent[element] != root) {
+            int next = parent[element];
+            parent[element] = root;
+            element = next;
+        }
+
+        return root;
+    }
+
+    /**
+     * Vereinigt die Mengen beider Elemente
+     * @param a das erste Element
+     * @param b das zweite Element
+     * @return true, wenn die Elemente vorher in verschiedenen Mengen lagen
+     */
+    public boolean union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if(rootA == rootB)
+            return false;
+
+        if(size[rootA] < size[rootB]) {
+            int tmp = rootA;
+            rootA = rootB;
+            rootB = tmp;
+        }
+
+        parent[rootB] = rootA;
+        size[rootA] += size[rootB];
+        setCount--;
+        return true;
+    }
+
+    /**
+     * Gibt an, ob beide Elemente in derselben Menge liegen
+     * @param a das erste Element
+     * @param b das zweite Element
+     * @return true, wenn beide Elemente in derselben Menge liegen
+     */
+    public boolean connected(int a, int b) {
+        return find(a) == find(b);
+    }
+
+    /**
+     * Gibt die Größe der Menge zurück, in der das Element liegt
+     * @param element das Element
+     * @return die Anzahl der Elemente in der Menge
+     */
+    public int getSize(int element) {
+        return size[find(element)];
+    }
+
+    /**
+     * Gibt die Anzahl der Elemente zurück
+     * @return die Anzahl der Elemente
+     */
+    public int getElementCount() {
+        return elementCount;
+    }
+
+    /**
+     * Gibt die Anzahl der disjunkten Mengen zurück
+     * @return die Anzahl der Mengen
+     */
+    public int getSetCount() {
+        return setCount;
+    }
+}
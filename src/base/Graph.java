@@ -1,9 +1,16 @@
 package base;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
+import java.util.function.ToDoubleBiFunction;
 import java.util.function.Predicate;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
@@ -21,12 +28,54 @@ public class Graph<T> {
     private List<Edge<T>> edges;
     private List<Node<T>> nodes;
 
+    // Adjazenzlisten: enthält für jeden Knoten (indiziert über Node#getId()) die angrenzenden Kanten
+    private List<ArrayList<Edge<T>>> adjacency;
+
+    // Ordnet jedem Wert den ersten Knoten mit diesem Wert zu (Vergleich über Referenzen)
+    private Map<T, Node<T>> valueIndex;
+
+    // Ordnet jedem ungeordneten Knotenpaar (siehe #edgeKey) die Kante zwischen beiden Knoten zu
+    private Map<Long, Edge<T>> edgeIndex;
+
+    // Zusammenhangskomponenten, werden beim Hinzufügen von Knoten und Kanten fortgeschrieben
+    private DisjointSet components;
+
+    // Berechnet die Kantengewichte für #freeze() und die zuletzt erzeugte Momentaufnahme
+    private ToDoubleBiFunction<? super T, ? super T> weightFunction;
+    private CompactGraph<T> frozen;
+
     /**
-     * Konstruktor für einen neuen, leeren Graphen
+     * Konstruktor für einen neuen, leeren Graphen. Alle Kanten haben das Gewicht 1.
      */
     public Graph() {
+        this((a, b) -> 1.0);
+    }
+
+    /**
+     * Konstruktor für einen neuen, leeren Graphen mit einer Funktion für die Kantengewichte
+     * @param weightFunction berechnet das Gewicht einer Kante aus den Werten beider Knoten, beispielsweise {@link Castle#distance(Castle)}
+     * @see #freeze()
+     */
+    public Graph(ToDoubleBiFunction<? super T, ? super T> weightFunction) {
+        this.weightFunction = weightFunction;
         this.nodes = new ArrayList<>();
         this.edges = new LinkedList<>();
+        this.adjacency = new ArrayList<>();
+        this.valueIndex = new IdentityHashMap<>();
+        this.edgeIndex = new HashMap<>();
+        this.components = new DisjointSet(0);
+    }
+
+    /**
+     * Berechnet den Schlüssel eines ungeordneten Knotenpaars. Der Schlüssel ist für (a, b) und (b, a) identisch.
+     * @param nodeA Der erste Knoten
+     * @param nodeB Der zweite Knoten
+     * @return der Schlüssel für {@link #edgeIndex}
+     */
+    private static long edgeKey(Node<?> nodeA, Node<?> nodeB) {
+        int idA = nodeA.getId();
+        int idB = nodeB.getId();
+        return idA < idB ? ((long) idA << 32) | idB : ((long) idB << 32) | idA;
     }
 
     /**
@@ -35,8 +84,12 @@ public class Graph<T> {
      * @return Der erstellte Knoten
      */
     public Node<T> addNode(T value) {
-        Node<T> node = new Node<>(value);
+        Node<T> node = new Node<>(value, this.nodes.size());
         this.nodes.add(node);
+        this.adjacency.add(new ArrayList<>());
+        this.valueIndex.putIfAbsent(value, node);
+        this.components.add();
+        this.frozen = null;
         return node;
     }
 
@@ -54,9 +107,35 @@ public class Graph<T> {
 
         edge = new Edge<>(nodeA, nodeB);
         this.edges.add(edge);
+        this.edgeIndex.put(edgeKey(nodeA, nodeB), edge);
+        this.components.union(nodeA.getId(), nodeB.getId());
+        this.frozen = null;
+        this.adjacency.get(nodeA.getId()).add(edge);
+        if(nodeA != nodeB)
+            this.adjacency.get(nodeB.getId()).add(edge);
         return edge;
     }
 
+    /**
+     * Verbindet einen Knoten mit allen angegebenen Knoten. Bereits vorhandene Kanten werden nicht doppelt angelegt.
+     * @param node Der gemeinsame Knoten
+     * @param neighbours Die Knoten, mit denen der Knoten verbunden werden soll
+     * @return Die erstellten oder bereits vorhandenen Kanten in der Reihenfolge der Nachbarn
+     * @see #addEdge(Node, Node)
+     */
+    public List<Edge<T>> addEdges(Node<T> node, Collection<Node<T>> neighbours) {
+        List<Edge<T>> result = new ArrayList<>(neighbours.size());
+        if(contains(node)) {
+            ArrayList<Edge<T>> nodeEdges = this.adjacency.get(node.getId());
+            nodeEdges.ensureCapacity(nodeEdges.size() + neighbours.size());
+        }
+
+        for(Node<T> neighbour : neighbours)
+            result.add(addEdge(node, neighbour));
+
+        return result;
+    }
+
     /**
      * Gibt die Liste aller Knoten zurück
      * @return die Liste aller Knoten
@@ -73,6 +152,19 @@ public class Graph<T> {
         return this.edges;
     }
 
+    /**
+     * Gibt eine unveränderbare Momentaufnahme des Graphen im CSR-Format zurück, siehe {@link CompactGraph}.
+     * Die Kantengewichte werden mit der im Konstruktor übergebenen Funktion berechnet.
+     * Solange der Graph nicht verändert wird, wird immer dieselbe Instanz zurückgegeben.
+     * @return die Momentaufnahme des Graphen
+     */
+    public synchronized CompactGraph<T> freeze() {
+        if(this.frozen == null)
+            this.frozen = new CompactGraph<>(this, this.weightFunction);
+
+        return this.frozen;
+    }
+
     /**
      * Diese Methode gibt alle Werte der Knoten in einer Liste mittels Streams zurück.
      * @see java.util.stream.Stream#map(Function)
@@ -85,43 +177,53 @@ public class Graph<T> {
     }
 
     /**
-     * Diese Methode gibt alle Kanten eines Knotens als Liste mittels Streams zurück.
+     * Diese Methode gibt alle Kanten eines Knotens zurück. Die Kanten werden direkt aus der Adjazenzliste
+     * des Knotens gelesen, der Aufwand ist also nur vom Grad des Knotens abhängig.
+     * Die zurückgegebene Liste ist eine unveränderbare Sicht, Änderungen am Graphen sind sofort sichtbar.
      * @param node Der Knoten für die dazugehörigen Kanten
-     * @see java.util.stream.Stream#filter(Predicate)
-     * @see java.util.stream.Stream#collect(Collector)
      * @return Die Liste aller zum Knoten zugehörigen Kanten
      */
     public List<Edge<T>> getEdges(Node<T> node) {
-        // TODO: Graph<T>#getEdges(Node<T>)
-        return edges.stream().filter(n -> n.contains(node)).collect(Collectors.toList());
+        if(!contains(node))
+            return Collections.emptyList();
+
+        return Collections.unmodifiableList(adjacency.get(node.getId()));
     }
 
     /**
      * Diese Methode sucht eine Kante zwischen beiden angegebenen Knoten und gibt diese zurück
-     * oder null, falls diese Kante nicht existiert
+     * oder null, falls diese Kante nicht existiert. Die Suche erfolgt über den Kantenindex in konstanter Zeit.
      * @param nodeA Der erste Knoten
      * @param nodeB Der zweite Knoten
      * @return Die Kante zwischen beiden Knoten oder null
      */
-   public Edge<T> getEdge(Node<T> nodeA, Node<T> nodeB) {
-        // TODO: Graph<T>#getEdge(Node<T>, Node<T>)
-    	for (Edge<T> e : this.getEdges()) {
-    		if (e.contains(nodeA) && e.contains(nodeB)) {
-    			return e;
-    		}
-    	}
-        return null;
+    public Edge<T> getEdge(Node<T> nodeA, Node<T> nodeB) {
+        Edge<T> edge = this.edgeIndex.get(edgeKey(nodeA, nodeB));
+        if(edge == null || !edge.contains(nodeA) || !edge.contains(nodeB))
+            return null;
+
+        return edge;
     }
 
 
     /**
-     * Gibt den ersten Knoten mit dem angegebenen Wert zurück oder null, falls dieser nicht gefunden wurde
+     * Gibt den ersten Knoten mit dem angegebenen Wert zurück oder null, falls dieser nicht gefunden wurde.
+     * Die Werte werden wie bisher über ihre Referenz verglichen, die Suche erfolgt über einen Index in konstanter Zeit.
      * @param value Der zu suchende Wert
      * @return Ein Knoten mit dem angegebenen Wert oder null
      */
     public Node<T> getNode(T value) {
-        // TODO: Graph<T>#getNode(T)
-        return nodes.stream().filter(n -> n.getValue() == value).findFirst().orElse(null);
+        return valueIndex.get(value);
+    }
+
+    /**
+     * Gibt an, ob der Knoten zu diesem Graphen gehört
+     * @param node Der zu überprüfende Knoten
+     * @return true, wenn der Knoten Teil dieses Graphen ist
+     */
+    public boolean contains(Node<T> node) {
+        int id = node.getId();
+        return id >= 0 && id < nodes.size() && nodes.get(id) == node;
     }
     
     /**
@@ -129,37 +231,47 @@ public class Graph<T> {
      * @return true, wenn alle Knoten erreichbar sind
      */
     public boolean allNodesConnected() {
-    	// TODO: Graph<T>#allNodesConnected()
-    	    Node<T> n=nodes.get(0);
-    		boolean boucle=false;
-    		int prev=0;
-    		List<Node<T>> newRes = new ArrayList<Node<T>>();
-    		List<Edge<T>> a = this.getEdges(n);
-    		while (!boucle) {
-    			prev =newRes.size();
-    		for (Edge<T> e : a) {
-    			if (!newRes.contains(e.getNodeA()))
-    				newRes.add(e.getNodeA());
-    			if(!newRes.contains(e.getNodeB()))
-    				newRes.add(e.getNodeB());
-    				}
-    		for (int j=0; j<newRes.size();j++) {
-    			List<Edge<T>> b = this.getEdges(newRes.get(j));
-    			for (Edge<T> e1 : b) {
-    				if (!a.contains(e1)) {
-    					a.add(e1);
-    				}
-    			}
-    		}
-    		if ( prev==newRes.size() ) {
-    			boucle=true;
-    		}
-    		}
-    		if (boucle && newRes.size()<nodes.size())
-    			return false;
-    		else
-                return true;
-    
-}
+        return componentCount() <= 1;
+    }
 
+    /**
+     * Gibt an, ob zwischen beiden Knoten ein Weg existiert
+     * @param nodeA Der erste Knoten
+     * @param nodeB Der zweite Knoten
+     * @return true, wenn beide Knoten in derselben Zusammenhangskomponente liegen
+     */
+    public boolean areConnected(Node<T> nodeA, Node<T> nodeB) {
+        return components.connected(nodeA.getId(), nodeB.getId());
+    }
+
+    /**
+     * Gibt die Anzahl der Zusammenhangskomponenten zurück
+     * @return die Anzahl der Zusammenhangskomponenten
+     */
+    public int componentCount() {
+        return components.getSetCount();
+    }
+
+    /**
+     * Teilt die Knoten in ihre Zusammenhangskomponenten auf. Die Komponenten sind nach ihrem
+     * ersten Knoten (in der Reihenfolge von {@link #getNodes()}) sortiert.
+     * @return eine Liste aller Zusammenhangskomponenten
+     */
+    public List<List<Node<T>>> components() {
+        List<List<Node<T>>> result = new ArrayList<>(componentCount());
+        int[] componentIndex = new int[nodes.size()];
+        Arrays.fill(componentIndex, -1);
+
+        for(Node<T> node : nodes) {
+            int root = components.find(node.getId());
+            if(componentIndex[root] == -1) {
+                componentIndex[root] = result.size();
+                result.add(new ArrayList<>());
+            }
+
+            result.get(componentIndex[root]).add(node);
+        }
+
+        return result;
+    }
 }
@@ -11,146 +11,650 @@ import java.util.*;
  */
 public abstract class GraphAlgorithm<T> {
 
-    /**
-     * Innere Klasse um {@link Node} zu erweitern, aber nicht zu verndern
-     * Sie weist jedem Knoten einen Wert und einen Vorgngerknoten zu.
-     * @param <T>
-     */
-    private static class AlgorithmNode<T> {
-
-        private Node<T> node;
-        private double value;
-        private AlgorithmNode<T> previous;
-
-        AlgorithmNode(Node<T> parentNode, AlgorithmNode<T> previousNode, double value) {
-            this.node = parentNode;
-            this.previous = previousNode;
-            this.value = value;
-        }
-    }
-
     private Graph<T> graph;
+    private int[] sourceIds;
 
-    // Diese Liste enthlt alle Knoten, die noch nicht abgearbeitet wurden
-    private List<Node<T>> availableNodes;
+    // Der Zielknoten der letzten A*-Suche, BIDIRECTIONAL nach einer bidirektionalen Suche
+    // oder -1, falls der Zustand zu einer normalen Suche gehrt
+    private int heuristicTarget;
+    private static final int BIDIRECTIONAL = -2;
 
-    // Diese Map enthlt alle Zuordnungen
-    private Map<Node<T>, AlgorithmNode<T>> algorithmNodes;
+    // Wert, Vorgnger und Status jedes Knotens sowie der Heap der offenen Knoten, siehe SearchWorkspace.
+    // Der Arbeitsspeicher der Rckwrtssuche fr #findPathBidirectional(Node) wird erst bei Bedarf angelegt.
+    private SearchWorkspace workspace;
+    private SearchWorkspace backwardWorkspace;
 
     /**
      * Erzeugt ein neues GraphAlgorithm-Objekt mit dem dazugehrigen Graphen und dem Startknoten.
+     * Der Arbeitsspeicher wird aus einem Pool des aktuellen Threads entnommen und kann mit {@link #release()} zurckgegeben werden.
      * @param graph der zu betrachtende Graph
      * @param sourceNode der Startknoten
      */
     public GraphAlgorithm(Graph<T> graph, Node<T> sourceNode) {
+        this(graph, Collections.singletonList(sourceNode));
+    }
+
+    /**
+     * Erzeugt ein neues GraphAlgorithm-Objekt mit mehreren Startknoten. Alle Startknoten erhalten den Wert 0,
+     * der Wert jedes anderen Knotens ist danach der Abstand zum nchstgelegenen Startknoten.
+     * Damit lsst sich beispielsweise in einem Durchlauf fr alle Knoten der Abstand zur nchsten gegnerischen Burg berechnen.
+     * @param graph der zu betrachtende Graph
+     * @param sourceNodes die Startknoten
+     */
+    public GraphAlgorithm(Graph<T> graph, Collection<Node<T>> sourceNodes) {
         this.graph = graph;
-        this.availableNodes = new LinkedList<>(graph.getNodes());
-        this.algorithmNodes = new HashMap<>();
-
-        for(Node<T> node : graph.getNodes())
-            this.algorithmNodes.put(node, new AlgorithmNode<>(node, null, -1));
-
-        this.algorithmNodes.get(sourceNode).value = 0;
-    }
-
-    /**
-     * Diese Methode gibt einen Knoten mit dem kleinsten Wert, der noch nicht abgearbeitet wurde, zurck und entfernt ihn aus der Liste {@link #availableNodes}.
-     * Sollte kein Knoten gefunden werden, wird null zurckgegeben.
-     * Verbindliche Anforderung: Verwenden Sie beim Durchlaufen der Liste Iteratoren
-     * @return Der nchste abzuarbeitende Knoten oder null
-     */
-    private AlgorithmNode<T> getSmallestNode() {
-        // TODO: GraphAlgorithm<T>#getSmallestNode()
-    
-    	Iterator nodes = availableNodes.iterator();
-    	if (nodes.hasNext()) {
-    		double min= algorithmNodes.get(nodes.next()).value;
-    		boolean diff =false;
-    		while (nodes.hasNext()) {
-    			double actual = algorithmNodes.get(nodes.next()).value;
-    			if (actual<min) min=actual;
-    			if (actual!=min) diff=true;
-    		}
-    		Iterator del=availableNodes.iterator();
-    		Object toRemove=del.next();
-            double actual =algorithmNodes.get(toRemove).value;
-    		if (!diff) {
-    			del.remove();
-    			return algorithmNodes.get(toRemove);
-    		} 
-    		while (actual != min) {
-    			toRemove =del.next();
-    			actual =algorithmNodes.get(toRemove).value;
-    		}
-    		del.remove();
-    		return algorithmNodes.get(toRemove);
-    		
-    	} else 
-    		return null;
-     }
-
-    /**
-     * Diese Methode startet den Algorithmus. Dieser funktioniert wie folgt:
-     * 1. Suche den Knoten mit dem geringsten Wert (siehe {@link #getSmallestNode()})
-     * 2. Fr jede angrenzende Kante:
-     * 2a. berprfe ob die Kante passierbar ist ({@link #isPassable(Edge)})
-     * 2b. Berechne den Wert des Knotens, in dem du den aktuellen Wert des Knotens und den der Kante addierst
-     * 2c. Ist der alte Wert nicht gesetzt (-1) oder ist der neue Wert kleiner, setze den neuen Wert und den Vorgngerknoten
-     * 3. Wiederhole solange, bis alle Knoten abgearbeitet wurden
-
-     * Ntzliche Methoden:
-     * @see #getSmallestNode()
+        this.workspace = SearchWorkspace.acquire(graph.getNodes().size());
+        setSources(sourceNodes);
+    }
+
+    /**
+     * Setzt einen neuen Startknoten und verwirft den bisherigen Zustand. Dadurch kann dasselbe Objekt
+     * fr mehrere Suchen verwendet werden, ohne neuen Speicher anzulegen.
+     * @param sourceNode der neue Startknoten
+     */
+    public void setSource(Node<T> sourceNode) {
+        if(this.sourceIds == null || this.sourceIds.length != 1)
+            this.sourceIds = new int[1];
+
+        this.sourceIds[0] = sourceNode.getId();
+        reset(-1);
+    }
+
+    /**
+     * Setzt neue Startknoten und verwirft den bisherigen Zustand
+     * @param sourceNodes die neuen Startknoten
+     * @see #GraphAlgorithm(Graph, Collection)
+     */
+    public void setSources(Collection<Node<T>> sourceNodes) {
+        this.sourceIds = new int[sourceNodes.size()];
+        int i = 0;
+        for(Node<T> sourceNode : sourceNodes)
+            this.sourceIds[i++] = sourceNode.getId();
+
+        reset(-1);
+    }
+
+    /**
+     * Gibt den Arbeitsspeicher an den Pool des aktuellen Threads zurck, damit ihn die nchste Suche wiederverwenden kann.
+     * Das Objekt darf danach nicht mehr verwendet werden.
+     */
+    public void release() {
+        if(workspace != null)
+            SearchWorkspace.release(workspace);
+        if(backwardWorkspace != null)
+            SearchWorkspace.release(backwardWorkspace);
+
+        workspace = null;
+        backwardWorkspace = null;
+    }
+
+    /**
+     * Setzt den Zustand zurck, sodass nur noch der Startknoten erreicht ist
+     * @param target der Zielknoten einer A*-Suche oder -1
+     */
+    private void reset(int target) {
+        this.workspace.reset();
+        this.heuristicTarget = target;
+
+        for(int sourceId : sourceIds) {
+            this.workspace.update(sourceId, 0, -1, -1);
+            this.workspace.getQueue().insertOrDecrease(sourceId, 0);
+        }
+    }
+
+    /**
+     * Gibt an, ob der Knoten ein Startknoten ist. Nur Startknoten werden ohne Vorgnger erreicht.
+     * @param id der Index des Knotens
+     * @return true, wenn der Knoten ein Startknoten ist
+     */
+    private boolean isSource(int id) {
+        return workspace.isReached(id) && workspace.getPrevious(id) == -1;
+    }
+
+    /**
+     * Diese Methode startet den Algorithmus (Dijkstra). Dieser funktioniert wie folgt:
+     * 1. Entnimm den Knoten mit dem geringsten Wert aus dem Heap der offenen Knoten
+     * 2. Ist der Knoten nicht der Startknoten und nicht passierbar ({@link #isPassable(Node)}), wird er nicht weiter untersucht
+     * 3. Fr jede angrenzende Kante:
+     * 3a. berprfe ob die Kante passierbar ist ({@link #isPassable(Edge)})
+     * 3b. Berechne den Wert des Knotens, in dem du den aktuellen Wert des Knotens und den der Kante addierst
+     * 3c. Ist der alte Wert nicht gesetzt (-1) oder ist der neue Wert kleiner, setze den neuen Wert und den Vorgngerknoten
+     * 4. Wiederhole solange, bis der Heap leer ist
+     *
+     * Wurde vorher {@link #findPath(Node)} aufgerufen, wird die Suche an dieser Stelle fortgesetzt.
      * @see #isPassable(Edge)
-     * @see Graph#getEdges(Node)
-     * @see Edge#getOtherNode(Node)
+     * @see CompactGraph#getOffset(int)
      */
     public void run() {
-        // TODO: GraphAlgorithm<T>#run()
-    	double nValue, a;
-    	AlgorithmNode<T> v;
-    	while (getSmallestNode() !=null) {
-    	    v =getSmallestNode();
-    		for (Edge<T> edg : graph.getEdges(v.node)) {
-    			if (isPassable(edg)) {
-    				 nValue=algorithmNodes.get(edg.getOtherNode(v.node)).value;
-    				 a =v.value+getValue(edg);
-    				if (nValue==-1 || a<nValue) {
-    					nValue=a;
-    					algorithmNodes.get(edg.getOtherNode(v.node)).previous=v;
-    				}
-    			}
-    		}
-    	}
-     }
+        if(heuristicTarget != -1)
+            reset(-1);
+
+        CompactGraph<T> compact = graph.freeze();
+        while(settleNext(compact, null) != -1);
+    }
+
+    /**
+     * Sucht den krzesten Pfad zum angegebenen Zielknoten. Die Suche wird abgebrochen, sobald der Zielknoten abgearbeitet ist,
+     * dabei werden also nur die Knoten betrachtet, die nher als der Zielknoten liegen.
+     * Der Zustand bleibt erhalten: weitere Aufrufe setzen die Suche fort und sind fr bereits abgearbeitete Knoten sofort beantwortet.
+     * @param destination Der Zielknoten des Pfads
+     * @return eine Liste von Kanten oder null, falls kein Pfad existiert
+     * @see #getPath(Node)
+     */
+    public List<Edge<T>> findPath(Node<T> destination) {
+        if(heuristicTarget != -1)
+            reset(-1);
+
+        CompactGraph<T> compact = graph.freeze();
+        int target = destination.getId();
+        while(!workspace.isSettled(target) && settleNext(compact, null) != -1);
+
+        return getPath(destination);
+    }
+
+    /**
+     * Sucht den krzesten Pfad zum angegebenen Zielknoten mit dem A*-Algorithmus. Die Knoten werden dabei nach der Summe aus
+     * ihrem Wert und der Schtzung {@link #estimate(Node, Node)} abgearbeitet, sodass vor allem Knoten in Richtung des Ziels
+     * untersucht werden. Die Schtzung muss zulssig und konsistent sein, also den tatschlichen Abstand nie berschtzen.
+     * Der bisherige Zustand wird dabei verworfen.
+     * @param destination Der Zielknoten des Pfads
+     * @return eine Liste von Kanten oder null, falls kein Pfad existiert
+     */
+    public List<Edge<T>> findPathAStar(Node<T> destination) {
+        int target = destination.getId();
+        if(heuristicTarget != target)
+            reset(target);
+
+        CompactGraph<T> compact = graph.freeze();
+        while(!workspace.isSettled(target) && settleNext(compact, destination) != -1);
+
+        return getPath(destination);
+    }
+
+    /**
+     * Sucht den krzesten Pfad zum angegebenen Zielknoten, indem gleichzeitig vom Start- und vom Zielknoten aus gesucht wird.
+     * Es wird jeweils die Seite mit dem kleineren Wert erweitert, bis sich beide Suchen treffen und kein krzerer Pfad mehr
+     * mglich ist. Bei langen Pfaden werden dadurch deutlich weniger Knoten betrachtet als bei {@link #findPath(Node)}.
+     * Die Kanten mssen dazu in beide Richtungen denselben Wert und dieselbe Passierbarkeit haben.
+     * Der Zielknoten selbst muss, wie bei den anderen Suchen, nicht passierbar sein.
+     * Der bisherige Zustand wird dabei verworfen. Diese Suche ist nur mit genau einem Startknoten mglich.
+     * @param destination Der Zielknoten des Pfads
+     * @return eine Liste von Kanten in derselben Form wie {@link #getPath(Node)} oder null, falls kein Pfad existiert
+     * @throws IllegalStateException falls mehrere Startknoten gesetzt sind
+     */
+    public List<Edge<T>> findPathBidirectional(Node<T> destination) {
+        if(sourceIds.length != 1)
+            throw new IllegalStateException("Die bidirektionale Suche bentigt genau einen Startknoten");
+
+        CompactGraph<T> compact = graph.freeze();
+        int sourceId = sourceIds[0];
+        int targetId = destination.getId();
+        if(targetId == sourceId)
+            return null;
+
+        reset(BIDIRECTIONAL);
+        if(backwardWorkspace == null)
+            backwardWorkspace = SearchWorkspace.acquire(workspace.getCapacity());
+        else
+            backwardWorkspace.reset();
+
+        backwardWorkspace.update(targetId, 0, -1, -1);
+        backwardWorkspace.getQueue().insertOrDecrease(targetId, 0);
+
+        IndexedMinHeap forwardQueue = workspace.getQueue();
+        IndexedMinHeap backwardQueue = backwardWorkspace.getQueue();
+        double best = Double.POSITIVE_INFINITY;
+        int meetingSlot = -1, meetingForward = -1, meetingBackward = -1;
+
+        while(!forwardQueue.isEmpty() && !backwardQueue.isEmpty()) {
+            if(forwardQueue.peekKey() + backwardQueue.peekKey() >= best)
+                break;
+
+            boolean forward = forwardQueue.peekKey() <= backwardQueue.peekKey();
+            SearchWorkspace current = forward ? workspace : backwardWorkspace;
+            SearchWorkspace opposite = forward ? backwardWorkspace : workspace;
+            int otherEnd = forward ? targetId : sourceId;
+
+            int node = current.getQueue().poll();
+            current.settle(node);
+            if(node != (forward ? sourceId : targetId) && !isPassable(compact.getNode(node)))
+                continue;
+
+            for(int slot = compact.getOffset(node); slot < compact.getEnd(node); slot++) {
+                int other = compact.getTarget(slot);
+                if(current.isSettled(other))
+                    continue;
+
+                Edge<T> edge = compact.getEdge(slot);
+                if(!isPassable(edge))
+                    continue;
+
+                double value = current.getValue(node) + getValue(edge);
+                if(!current.isReached(other) || value < current.getValue(other)) {
+                    current.update(other, value, node, slot);
+                    current.getQueue().insertOrDecrease(other, value);
+                }
+
+                // Treffen sich beide Suchen, darf der Knoten nur ein Endpunkt oder passierbar sein
+                if(opposite.isReached(other) && value + opposite.getValue(other) < best
+                        && (other == otherEnd || isPassable(compact.getNode(other)))) {
+                    best = value + opposite.getValue(other);
+                    meetingSlot = slot;
+                    meetingForward = forward ? node : other;
+                    meetingBackward = forward ? other : node;
+                }
+            }
+        }
+
+        if(meetingSlot == -1)
+            return null;
+
+        List<Edge<T>> path = new ArrayList<>();
+        for(int node = meetingForward; workspace.getPrevious(node) != -1; node = workspace.getPrevious(node))
+            path.add(compact.getEdge(workspace.getPreviousSlot(node)));
+
+        Collections.reverse(path);
+        path.add(compact.getEdge(meetingSlot));
+        for(int node = meetingBackward; backwardWorkspace.getPrevious(node) != -1; node = backwardWorkspace.getPrevious(node))
+            path.add(compact.getEdge(backwardWorkspace.getPreviousSlot(node)));
+
+        return path;
+    }
+
+    /**
+     * Sucht den krzesten Pfad zum angegebenen Zielknoten, der aus hchstens maxHops Kanten besteht.
+     * Dazu wird fr jede Kantenanzahl h von 1 bis maxHops der kleinste Wert jedes Knotens mit hchstens h Kanten bestimmt
+     * (Bellman-Ford in Schichten). In jeder Schicht werden nur die Knoten erweitert, deren Wert sich in der vorherigen Schicht verbessert hat.
+     * Da ein krzester Pfad keinen Knoten zweimal besucht, werden hchstens so viele Schichten wie Knoten minus eins berechnet.
+     * Von den Werten werden nur die letzten beiden Schichten gehalten, von den Vorgngern nur die Eintrge der verbesserten Knoten,
+     * der Speicherbedarf wchst also mit der Anzahl der Verbesserungen und nicht mit maxHops.
+     * Passierbarkeit und Werte werden wie bei {@link #findPath(Node)} ber {@link #isPassable(Edge)}, {@link #isPassable(Node)}
+     * und {@link #getValue(Edge)} bestimmt. Der Zustand der anderen Suchen bleibt dabei unverndert.
+     * @param destination Der Zielknoten des Pfads
+     * @param maxHops die maximale Anzahl an Kanten
+     * @return eine Liste von hchstens maxHops Kanten oder null, falls kein solcher Pfad existiert
+     */
+    public List<Edge<T>> findPathWithinHops(Node<T> destination, int maxHops) {
+        CompactGraph<T> compact = graph.freeze();
+        int nodeCount = compact.getNodeCount();
+        int target = destination.getId();
+        maxHops = Math.min(maxHops, nodeCount - 1);
+        if(maxHops <= 0)
+            return null;
+
+        // Die Werte mit hchstens h - 1 und mit hchstens h Kanten, nach jeder Schicht werden beide getauscht
+        double[] previousValues = new double[nodeCount];
+        double[] values = new double[nodeCount];
+        int[] slots = new int[nodeCount];
+        Arrays.fill(previousValues, Double.POSITIVE_INFINITY);
+
+        BitSet sources = new BitSet(nodeCount);
+        BitSet changed = new BitSet(nodeCount);
+        for(int sourceId : sourceIds) {
+            previousValues[sourceId] = 0;
+            sources.set(sourceId);
+            changed.set(sourceId);
+        }
+
+        // Die in Schicht h verbesserten Knoten aufsteigend mit der Kante zu ihrem Vorgnger,
+        // an den Positionen layerStarts[h] bis layerStarts[h + 1] - 1
+        int[] layerStarts = new int[maxHops + 2];
+        int[] changedNodes = new int[nodeCount];
+        int[] changedSlots = new int[nodeCount];
+        int changeCount = 0;
+
+        // ndert sich keine Schicht mehr, bleiben auch alle folgenden gleich
+        int lastHops = 0;
+        BitSet nextChanged = new BitSet(nodeCount);
+        for(int hops = 1; hops <= maxHops && !changed.isEmpty(); hops++) {
+            lastHops = hops;
+            System.arraycopy(previousValues, 0, values, 0, nodeCount);
+
+            for(int node = changed.nextSetBit(0); node >= 0; node = changed.nextSetBit(node + 1)) {
+                if(!sources.get(node) && !isPassable(compact.getNode(node)))
+                    continue;
+
+                for(int slot = compact.getOffset(node); slot < compact.getEnd(node); slot++) {
+                    Edge<T> edge = compact.getEdge(slot);
+                    if(!isPassable(edge))
+                        continue;
+
+                    int other = compact.getTarget(slot);
+                    double value = previousValues[node] + getValue(edge);
+                    if(value < values[other]) {
+                        values[other] = value;
+                        slots[other] = slot;
+                        nextChanged.set(other);
+                    }
+                }
+            }
+
+            layerStarts[hops] = changeCount;
+            for(int node = nextChanged.nextSetBit(0); node >= 0; node = nextChanged.nextSetBit(node + 1)) {
+                if(changeCount == changedNodes.length) {
+                    changedNodes = Arrays.copyOf(changedNodes, changeCount * 2);
+                    changedSlots = Arrays.copyOf(changedSlots, changeCount * 2);
+                }
+
+                changedNodes[changeCount] = node;
+                changedSlots[changeCount++] = slots[node];
+            }
+            layerStarts[hops + 1] = changeCount;
+
+            double[] swapValues = previousValues;
+            previousValues = values;
+            values = swapValues;
+
+            BitSet swap = changed;
+            changed = nextChanged;
+            nextChanged = swap;
+            nextChanged.clear();
+        }
+
+        if(previousValues[target] == Double.POSITIVE_INFINITY)
+            return null;
+
+        // Wurde der Knoten in einer Schicht nicht verbessert, stammt sein Wert aus einer frheren Schicht
+        List<Edge<T>> path = new ArrayList<>();
+        int node = target;
+        for(int hops = lastHops; hops > 0; hops--) {
+            int index = Arrays.binarySearch(changedNodes, layerStarts[hops], layerStarts[hops + 1], node);
+            if(index < 0)
+                continue;
+
+            Edge<T> edge = compact.getEdge(changedSlots[index]);
+            path.add(edge);
+            node = edge.getOtherNode(compact.getNode(node)).getId();
+        }
+
+        if(path.isEmpty())
+            return null;
+
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Sucht die k krzesten schleifenfreien Pfade zum angegebenen Zielknoten mit dem Algorithmus von Yen.
+     * Ausgehend vom krzesten Pfad wird fr jeden Knoten des zuletzt gefundenen Pfads ein Abzweig gesucht, bei dem der Anfang
+     * des Pfads gleich bleibt, die bereits verwendeten folgenden Kanten aber gesperrt sind. Der beste noch nicht verwendete
+     * Kandidat ist jeweils der nchste Pfad.
+     * Passierbarkeit und Werte werden ber dieselben Methoden wie bei {@link #findPath(Node)} bestimmt.
+     * Der Zustand der anderen Suchen bleibt dabei unverndert. Diese Suche ist nur mit genau einem Startknoten mglich.
+     * @param destination Der Zielknoten der Pfade
+     * @param k die maximale Anzahl an Pfaden
+     * @return die Pfade aufsteigend nach ihrem Wert, hchstens k Stck
+     * @throws IllegalStateException falls mehrere Startknoten gesetzt sind
+     */
+    public List<List<Edge<T>>> findKShortestPaths(Node<T> destination, int k) {
+        if(sourceIds.length != 1)
+            throw new IllegalStateException("Die Suche nach mehreren Pfaden bentigt genau einen Startknoten");
+
+        List<List<Edge<T>>> paths = new ArrayList<>();
+        int sourceId = sourceIds[0];
+        int targetId = destination.getId();
+        if(k <= 0 || sourceId == targetId)
+            return paths;
+
+        CompactGraph<T> compact = graph.freeze();
+        SearchWorkspace spurWorkspace = SearchWorkspace.acquire(compact.getNodeCount());
+        try {
+            BitSet blockedNodes = new BitSet(compact.getNodeCount());
+            BitSet blockedSlots = new BitSet(compact.getSlotCount());
+
+            int[] shortest = findRestrictedPath(compact, spurWorkspace, sourceId, targetId, blockedNodes, blockedSlots);
+            if(shortest == null)
+                return paths;
+
+            List<int[]> accepted = new ArrayList<>();
+            accepted.add(shortest);
+            PriorityQueue<PathCandidate> candidates = new PriorityQueue<>(Comparator.comparingDouble(c -> c.value));
+            Set<List<Integer>> known = new HashSet<>();
+            known.add(toList(shortest));
+
+            while(accepted.size() < k) {
+                int[] previous = accepted.get(accepted.size() - 1);
+                int spurNode = sourceId;
+                double rootValue = 0;
+
+                for(int spurIndex = 0; spurIndex < previous.length; spurIndex++) {
+                    blockedSlots.clear();
+                    for(int[] path : accepted) {
+                        if(path.length > spurIndex && Arrays.equals(path, 0, spurIndex, previous, 0, spurIndex))
+                            blockedSlots.set(path[spurIndex]);
+                    }
+
+                    int[] spurPath = findRestrictedPath(compact, spurWorkspace, spurNode, targetId, blockedNodes, blockedSlots);
+                    if(spurPath != null) {
+                        int[] slots = Arrays.copyOf(previous, spurIndex + spurPath.length);
+                        System.arraycopy(spurPath, 0, slots, spurIndex, spurPath.length);
+                        if(known.add(toList(slots)))
+                            candidates.add(new PathCandidate(rootValue + spurWorkspace.getValue(targetId), slots));
+                    }
+
+                    // Der Anfang des Pfads darf von den folgenden Abzweigen nicht erneut besucht werden
+                    blockedNodes.set(spurNode);
+                    rootValue += getValue(compact.getEdge(previous[spurIndex]));
+                    spurNode = compact.getTarget(previous[spurIndex]);
+                }
+
+                blockedNodes.clear();
+                PathCandidate next = candidates.poll();
+                if(next == null)
+                    break;
+
+                accepted.add(next.slots);
+            }
+
+            for(int[] slots : accepted) {
+                List<Edge<T>> path = new ArrayList<>(slots.length);
+                for(int slot : slots)
+                    path.add(compact.getEdge(slot));
+
+                paths.add(path);
+            }
+
+            return paths;
+        } finally {
+            SearchWorkspace.release(spurWorkspace);
+        }
+    }
+
+    /**
+     * Sucht den krzesten Pfad zwischen zwei Knoten, ohne die gesperrten Knoten und Kanten zu verwenden
+     * @param compact die Momentaufnahme des Graphen
+     * @param workspace der Arbeitsspeicher der Suche, danach enthlt er die Werte der Suche
+     * @param from der Index des Startknotens
+     * @param to der Index des Zielknotens
+     * @param blockedNodes die gesperrten Knoten
+     * @param blockedSlots die gesperrten Kanten als Positionen in der {@link CompactGraph}-Momentaufnahme
+     * @return die Positionen der Kanten des Pfads oder null, falls kein Pfad existiert
+     */
+    private int[] findRestrictedPath(CompactGraph<T> compact, SearchWorkspace workspace, int from, int to, BitSet blockedNodes, BitSet blockedSlots) {
+        workspace.reset();
+        workspace.update(from, 0, -1, -1);
+        IndexedMinHeap queue = workspace.getQueue();
+        queue.insertOrDecrease(from, 0);
+
+        while(!queue.isEmpty()) {
+            int current = queue.poll();
+            workspace.settle(current);
+            if(current == to)
+                break;
+
+            if(current != from && !isPassable(compact.getNode(current)))
+                continue;
+
+            for(int slot = compact.getOffset(current); slot < compact.getEnd(current); slot++) {
+                int other = compact.getTarget(slot);
+                if(blockedSlots.get(slot) || blockedNodes.get(other) || workspace.isSettled(other))
+                    continue;
+
+                Edge<T> edge = compact.getEdge(slot);
+                if(!isPassable(edge))
+                    continue;
+
+                double value = workspace.getValue(current) + getValue(edge);
+                if(!workspace.isReached(other) || value < workspace.getValue(other)) {
+                    workspace.update(other, value, current, slot);
+                    queue.insertOrDecrease(other, value);
+                }
+            }
+        }
+
+        if(!workspace.isSettled(to))
+            return null;
+
+        int length = 0;
+        for(int node = to; workspace.getPrevious(node) != -1; node = workspace.getPrevious(node))
+            length++;
+
+        int[] slots = new int[length];
+        for(int node = to; workspace.getPrevious(node) != -1; node = workspace.getPrevious(node))
+            slots[--length] = workspace.getPreviousSlot(node);
+
+        return slots;
+    }
+
+    private static List<Integer> toList(int[] slots) {
+        List<Integer> list = new ArrayList<>(slots.length);
+        for(int slot : slots)
+            list.add(slot);
+
+        return list;
+    }
+
+    /**
+     * Ein mglicher Pfad fr {@link #findKShortestPaths(Node, int)}
+     */
+    private static final class PathCandidate {
+        private final double value;
+        private final int[] slots;
+
+        private PathCandidate(double value, int[] slots) {
+            this.value = value;
+            this.slots = slots;
+        }
+    }
+
+    /**
+     * Arbeitet den Knoten mit dem geringsten Schlssel ab und aktualisiert seine Nachbarn
+     * @param compact die Momentaufnahme des Graphen
+     * @param destination der Zielknoten fr die Schtzung {@link #estimate(Node, Node)} oder null
+     * @return der Index des abgearbeiteten Knotens oder -1, falls keine Knoten mehr brig sind
+     */
+    private int settleNext(CompactGraph<T> compact, Node<T> destination) {
+        IndexedMinHeap queue = workspace.getQueue();
+        if(queue.isEmpty())
+            return -1;
+
+        int current = queue.poll();
+        workspace.settle(current);
+
+        if(!isSource(current) && !isPassable(compact.getNode(current)))
+            return current;
+
+        double currentValue = workspace.getValue(current);
+        for(int slot = compact.getOffset(current); slot < compact.getEnd(current); slot++) {
+            int other = compact.getTarget(slot);
+            if(workspace.isSettled(other))
+                continue;
+
+            Edge<T> edge = compact.getEdge(slot);
+            if(!isPassable(edge))
+                continue;
+
+            double value = currentValue + getValue(edge);
+            if(!workspace.isReached(other) || value < workspace.getValue(other)) {
+                workspace.update(other, value, current, slot);
+                double key = destination == null ? value : value + estimate(compact.getNode(other), destination);
+                queue.insertOrDecrease(other, key);
+            }
+        }
+
+        return current;
+    }
 
     /**
      * Diese Methode gibt eine Liste von Kanten zurck, die einen Pfad zu dem angegebenen Zielknoten representiert.
-     * Dabei werden zuerst beginnend mit dem Zielknoten alle Kanten mithilfe des Vorgngerattributs {@link AlgorithmNode#previous} zu der Liste hinzugefgt.
-     * Zum Schluss muss die Liste nur noch umgedreht werden. Sollte kein Pfad existieren, geben Sie null zurck.
+     * Dabei werden zuerst beginnend mit dem Zielknoten alle Kanten zu den Vorgngerknoten zu der Liste hinzugefgt.
+     * Zum Schluss muss die Liste nur noch umgedreht werden. Sollte kein Pfad existieren, wird null zurckgegeben.
+     * Das Ergebnis ist nur gltig, wenn der Zielknoten bereits abgearbeitet wurde, siehe {@link #run()} und {@link #findPath(Node)}.
      * @param destination Der Zielknoten des Pfads
      * @return eine Liste von Kanten oder null
      */
     public List<Edge<T>> getPath(Node<T> destination) {
-        // TODO: GraphAlgorithm<T>#getPath(Node<T>)
-    	/*if (algorithmNodes.get(destination).previous.equals(null)) {
-    		return null;
-    	} else {*/
-    	List<Edge<T>> res= new ArrayList<>();
-    	Node<T> actual=destination;
-    	System.out.println(algorithmNodes.get(actual).previous !=null );
-    	while (algorithmNodes.get(actual).previous !=null && res.size()<graph.getEdges().size()  ) {
-    		res.add(graph.getEdge(actual, algorithmNodes.get(actual).previous.node));
-    		actual=algorithmNodes.get(actual).previous.node;
-    	}
-    	if (algorithmNodes.get(actual).previous !=null )
-    		res.add(graph.getEdge(actual, algorithmNodes.get(actual).previous.node));
-    	Collections.reverse(res);
-    	System.out.println(res.size());
-    	if (res.size()==0) 
-    	return null;
-    	else return res;
-    	
-    	
+        int current = destination.getId();
+        if(workspace.getPrevious(current) == -1)
+            return null;
+
+        CompactGraph<T> compact = graph.freeze();
+        List<Edge<T>> path = new ArrayList<>();
+        for(; workspace.getPrevious(current) != -1; current = workspace.getPrevious(current))
+            path.add(compact.getEdge(workspace.getPreviousSlot(current)));
+
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Gibt den Wert des krzesten Pfads vom (nchstgelegenen) Startknoten zum angegebenen Knoten zurck.
+     * Falls ntig, wird die Suche dazu vollstndig ausgefhrt ({@link #run()}).
+     * @param node Der Knoten
+     * @return der Wert des Pfads oder -1, falls der Knoten nicht erreichbar ist
+     */
+    public double getDistance(Node<T> node) {
+        run();
+        return workspace.getValue(node.getId());
+    }
+
+    /**
+     * Gibt fr jeden Knoten den Wert des krzesten Pfads vom (nchstgelegenen) Startknoten zurck.
+     * Falls ntig, wird die Suche dazu vollstndig ausgefhrt ({@link #run()}).
+     * @return die Werte, indiziert ber {@link Node#getId()}, -1 fr nicht erreichbare Knoten
+     */
+    public double[] getDistances() {
+        run();
+
+        double[] distances = new double[graph.getNodes().size()];
+        for(int id = 0; id < distances.length; id++)
+            distances[id] = workspace.getValue(id);
+
+        return distances;
+    }
+
+    /**
+     * Gibt alle Knoten zurck, zu denen ein Pfad vom Startknoten existiert. Der Startknoten selbst ist nicht enthalten.
+     * Falls ntig, wird die Suche dazu vollstndig ausgefhrt ({@link #run()}).
+     * @return eine Bitmenge der erreichbaren Knoten, indiziert ber {@link Node#getId()}
+     */
+    public BitSet getReachableNodes() {
+        run();
+
+        int nodeCount = graph.getNodes().size();
+        BitSet reachable = new BitSet(nodeCount);
+        for(int id = 0; id < nodeCount; id++) {
+            if(workspace.getPrevious(id) != -1)
+                reachable.set(id);
+        }
+
+        return reachable;
+    }
+
+    /**
+     * Gibt fr jeden Knoten den Index seines Vorgngers auf dem krzesten Pfad zurck.
+     * Zusammen mit {@link #getReachableNodes()} lassen sich damit alle Pfade ohne weitere Suche nachvollziehen.
+     * Falls ntig, wird die Suche dazu vollstndig ausgefhrt ({@link #run()}).
+     * @return die Vorgnger, -1 fr den Startknoten und nicht erreichbare Knoten
+     */
+    public int[] getPredecessors() {
+        run();
+
+        int[] predecessors = new int[graph.getNodes().size()];
+        for(int id = 0; id < predecessors.length; id++)
+            predecessors[id] = workspace.getPrevious(id);
+
+        return predecessors;
     }
 
     /**
@@ -169,6 +673,18 @@ public abstract class GraphAlgorithm<T> {
      */
     protected abstract double getValue(Edge<T> edge);
 
+    /**
+     * Schtzt den Wert des krzesten Pfads zwischen zwei Knoten fr {@link #findPathAStar(Node)}.
+     * Die Schtzung darf den tatschlichen Wert nicht berschreiten. Standardmig wird 0 zurckgegeben,
+     * A* verhlt sich dann wie der normale Algorithmus mit vorzeitigem Abbruch.
+     * @param node Der aktuelle Knoten
+     * @param destination Der Zielknoten
+     * @return eine untere Schranke fr den Wert des Pfads
+     */
+    protected double estimate(Node<T> node, Node<T> destination) {
+        return 0;
+    }
+
     /**
      * Gibt an, ob eine Kante passierbar ist.
      * @param edge Eine Kante
@@ -0,0 +1,125 @@
+package base;
+
+import java.util.Arrays;
+
+/**
+ * Ein binärer Min-Heap über Knotenindizes im Bereich 0 bis n - 1 mit einem double-Schlüssel pro Index.
+ * Da zu jedem Index die Position im Heap gespeichert wird, kann der Schlüssel eines enthaltenen
+ * Index in logarithmischer Zeit verringert werden (decrease-key).
+ */
+class IndexedMinHeap {
+
+    private final int[] heap;
+    private final int[] position;
+    private final double[] keys;
+    private int size;
+
+    /**
+     * Erstellt einen leeren Heap
+     * @param capacity die Anzahl der möglichen Indizes
+     */
+    IndexedMinHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.keys = new double[capacity];
+        Arrays.fill(this.position, -1);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean contains(int index) {
+        return position[index] != -1;
+    }
+
+    /**
+     * Gibt den kleinsten Schlüssel zurück, ohne ihn zu entfernen
+     * @return der kleinste Schlüssel
+     */
+    double peekKey() {
+        return keys[heap[0]];
+    }
+
+    /**
+     * Fügt einen Index ein oder verringert seinen Schlüssel, falls er bereits enthalten ist und der neue Schlüssel kleiner ist
+     * @param index der Index
+     * @param key der Schlüssel
+     */
+    void insertOrDecrease(int index, double key) {
+        if(position[index] == -1) {
+            heap[size] = index;
+            position[index] = size;
+            keys[index] = key;
+            siftUp(size++);
+        } else if(key < keys[index]) {
+            keys[index] = key;
+            siftUp(position[index]);
+        }
+    }
+
+    /**
+     * Entfernt den Index mit dem kleinsten Schlüssel
+     * @return der entfernte Index
+     */
+    int poll() {
+        int min = heap[0];
+        position[min] = -1;
+        size--;
+        if(size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+
+        return min;
+    }
+
+    /**
+     * Entfernt alle Indizes aus dem Heap
+     */
+    void clear() {
+        for(int i = 0; i < size; i++)
+            position[heap[i]] = -1;
+
+        size = 0;
+    }
+
+    private void siftUp(int i) {
+        int index = heap[i];
+        double key = keys[index];
+        while(i > 0) {
+            int parent = (i - 1) >>> 1;
+            if(keys[heap[parent]] <= key)
+                break;
+
+            heap[i] = heap[parent];
+            position[heap[i]] = i;
+            i = parent;
+        }
+
+        heap[i] = index;
+        position[index] = i;
+    }
+
+    private void siftDown(int i) {
+        int index = heap[i];
+        double key = keys[index];
+        int half = size >>> 1;
+        while(i < half) {
+            int child = 2 * i + 1;
+            if(child + 1 < size && keys[heap[child + 1]] < keys[heap[child]])
+                child++;
+
+            if(key <= keys[heap[child]])
+                break;
+
+            heap[i] = heap[child];
+            position[heap[i]] = i;
+            i = child;
+        }
+
+        heap[i] = index;
+        position[index] = i;
+    }
+}
@@ -7,13 +7,26 @@ package base;
 public class Node<T> {
 
     private T value;
+    private int id;
 
     /**
      * Erzeugt einen neuen Knoten mit dem gegebenen Wert
      * @param value der Wert des Knotens
+     * @param id der Index des Knotens innerhalb seines Graphen
      */
-    Node(T value) {
+    Node(T value, int id) {
         this.value = value;
+        this.id = id;
+    }
+
+    /**
+     * Gibt den Index des Knotens innerhalb seines Graphen zurück. Die Indizes eines Graphen sind dicht,
+     * d.h. sie liegen im Bereich 0 bis Knotenanzahl - 1 und entsprechen der Position in {@link Graph#getNodes()}.
+     * Sie eignen sich daher als Index für Arrays.
+     * @return der Index des Knotens
+     */
+    public int getId() {
+        return id;
     }
 
     /**
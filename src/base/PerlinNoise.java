@@ -1,7 +1,7 @@
 package base;
 
 import java.awt.*;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Random;
 
 /**
@@ -9,9 +9,25 @@ import java.util.Random;
  * modified by Roman Hergenreder
  * <p>
  * Version 1.0
+ * <p>
+ * Fractal noise: several octaves of Perlin noise with increasing frequency (lacunarity) and decreasing amplitude (persistence)
+ * are added up. The gradient of a lattice point is picked from a fixed set of eight directions by hashing its coordinates
+ * with a shuffled permutation table, so the memory needed does not depend on the size of the map.
  */
 public class PerlinNoise {
 
+    public static final int DEFAULT_OCTAVES = 4;
+    public static final double DEFAULT_LACUNARITY = 2.0;
+    public static final double DEFAULT_PERSISTENCE = 0.5;
+
+    private static final int PERMUTATION_SIZE = 256;
+    private static final int PERMUTATION_MASK = PERMUTATION_SIZE - 1;
+
+    // fixed gradients: the eight unit vectors in steps of 45 degrees
+    private static final double DIAGONAL = Math.sqrt(0.5);
+    private static final double[] GRADIENTS_X = {1, DIAGONAL, 0, -DIAGONAL, -1, -DIAGONAL, 0, DIAGONAL};
+    private static final double[] GRADIENTS_Y = {0, DIAGONAL, 1, DIAGONAL, 0, -DIAGONAL, -1, -DIAGONAL};
+
     private int width ;
     private int height;
     private int scale;
@@ -20,9 +36,49 @@ public class PerlinNoise {
     private int gheight; // scaled height
 
     private Random random;
-    private ArrayList<Vector<Double>> Vectors; //gradients
+    private int[] permutation; // shuffled 0..255, stored twice so the second lookup does not need to wrap
+
+    // per octave: frequency in lattice cells per pixel, normalized amplitude and a random offset of the origin
+    private int octaves;
+    private double[] frequencies;
+    private double[] amplitudes;
+    private double[] offsetsX;
+    private double[] offsetsY;
+
+    // per octave and column x: cell, direction to the left corner, faded weight and first column of the next cell, see getNoiseRow
+    private int[][] columnCells;
+    private double[][] columnLeft;
+    private double[][] columnFade;
+    private int[][] columnEnds;
 
     public PerlinNoise(int width, int height, int scale) {
+        this(width, height, scale, new Random());
+    }
+
+    /**
+     * Creates the noise with the default octaves, the same random generator state always results in the same noise
+     * @param random: random generator for the permutation table and the octave offsets
+     */
+    public PerlinNoise(int width, int height, int scale, Random random) {
+        this(width, height, scale, DEFAULT_OCTAVES, DEFAULT_LACUNARITY, DEFAULT_PERSISTENCE, random);
+    }
+
+    public PerlinNoise(int width, int height, int scale, int octaves, double lacunarity, double persistence) {
+        this(width, height, scale, octaves, lacunarity, persistence, new Random());
+    }
+
+    /**
+     * @param width: width in lattice cells of the first octave
+     * @param height: height in lattice cells of the first octave
+     * @param scale: size of a lattice cell of the first octave in pixels
+     * @param octaves: number of octaves, at least 1
+     * @param lacunarity: factor by which the frequency grows from one octave to the next
+     * @param persistence: factor by which the amplitude shrinks from one octave to the next
+     * @param random: random generator for the permutation table and the octave offsets
+     */
+    public PerlinNoise(int width, int height, int scale, int octaves, double lacunarity, double persistence, Random random) {
+        if (octaves < 1)
+            throw new IllegalArgumentException("octaves must be at least 1");
 
         this.width = width * scale;
         this.height = height * scale;
@@ -30,9 +86,10 @@ public class PerlinNoise {
         this.gwidth = width;
         this.gheight = height;
 
-        this.random = new Random();
-        this.Vectors = new ArrayList<>();
-        createVectors((1 + gwidth) * (1 + gheight));
+        this.random = random;
+        createPermutation();
+        createOctaves(octaves, lacunarity, persistence);
+        createColumns();
     }
 
     public Dimension getRealSize() {
@@ -44,18 +101,73 @@ public class PerlinNoise {
     }
 
     /**
-     * create's a list with n elements where each element is a vector in the union circle (gradient)
-     * @param n: number of gradients to be created
+     * Creates the permutation table by shuffling the numbers 0 to 255 (Fisher-Yates)
      */
-    private void createVectors(int n) {
-        this.Vectors = new ArrayList<>();
-        for(int i=0;i<n;i++){
-            double randomValue = random.nextDouble();
-            randomValue = randomValue * 2 * Math.PI;
-            double x = Math.cos(randomValue);
-            double y = Math.sin(randomValue);
-            Vector<Double> grad = new Vector<>(x,y);
-            this.Vectors.add(grad);
+    private void createPermutation() {
+        this.permutation = new int[2 * PERMUTATION_SIZE];
+        for(int i=0;i<PERMUTATION_SIZE;i++)
+            this.permutation[i] = i;
+
+        for(int i=PERMUTATION_SIZE-1;i>0;i--){
+            int j = random.nextInt(i+1);
+            int swap = this.permutation[i];
+            this.permutation[i] = this.permutation[j];
+            this.permutation[j] = swap;
+        }
+
+        System.arraycopy(this.permutation, 0, this.permutation, PERMUTATION_SIZE, PERMUTATION_SIZE);
+    }
+
+    /**
+     * Calculates frequency, amplitude and offset of every octave.
+     * The amplitudes are normalized so that the sum of the octaves has the same variance as a single octave,
+     * the terrain thresholds therefore keep their meaning regardless of the number of octaves
+     */
+    private void createOctaves(int octaves, double lacunarity, double persistence) {
+        this.octaves = octaves;
+        this.frequencies = new double[octaves];
+        this.amplitudes = new double[octaves];
+        this.offsetsX = new double[octaves];
+        this.offsetsY = new double[octaves];
+
+        double frequency = 1.0 / this.scale, amplitude = 1.0, energy = 0;
+        for(int o=0;o<octaves;o++){
+            this.frequencies[o] = frequency;
+            this.amplitudes[o] = amplitude;
+            // all octaves share the permutation table, the offsets keep them from lining up at the origin
+            this.offsetsX[o] = random.nextDouble() * PERMUTATION_SIZE;
+            this.offsetsY[o] = random.nextDouble() * PERMUTATION_SIZE;
+            energy += amplitude * amplitude;
+            frequency *= lacunarity;
+            amplitude *= persistence;
+        }
+
+        double norm = Math.sqrt(energy);
+        for(int o=0;o<octaves;o++)
+            this.amplitudes[o] /= norm;
+    }
+
+    /**
+     * Precomputes everything getNoise derives from the x-coordinate alone, so getNoiseRow only has to combine arrays.
+     * The values are calculated exactly like in getNoise, the results are therefore identical.
+     * The tables grow with the width of the map only, not with its area
+     */
+    private void createColumns() {
+        this.columnCells = new int[this.octaves][width];
+        this.columnLeft = new double[this.octaves][width];
+        this.columnFade = new double[this.octaves][width];
+        this.columnEnds = new int[this.octaves][width];
+        for(int o=0;o<this.octaves;o++){
+            for(int x=0;x<width;x++){
+                double scaledX = x*this.frequencies[o] + this.offsetsX[o];
+                int cell = (int) scaledX;
+                this.columnCells[o][x] = cell;
+                this.columnLeft[o][x] = scaledX - cell;
+                this.columnFade[o][x] = fade(scaledX - cell);
+            }
+
+            for(int x=width-1;x>=0;x--)
+                this.columnEnds[o][x] = x+1 < width && this.columnCells[o][x+1] == this.columnCells[o][x] ? this.columnEnds[o][x+1] : x+1;
         }
     }
 
@@ -78,23 +190,34 @@ public class PerlinNoise {
         return ((1.0-w)*x+w*y);
     }
 
+    /**
+     * Picks the gradient of a lattice point by hashing its coordinates with the permutation table
+     * @param x: x-coordinate of the lattice point
+     * @param y: y-coordinate of the lattice point
+     * @return index into GRADIENTS_X and GRADIENTS_Y
+     */
+    private int gradient(int x, int y){
+        return this.permutation[this.permutation[x & PERMUTATION_MASK] + (y & PERMUTATION_MASK)] & 7;
+    }
+
     /**
      * Calculates the scalar product between the direction vector and the gradient in the corner
-     * @param vector: direction vector
-     * @param gradient: gradient in the corner
+     * @param vectorX: x-component of the direction vector
+     * @param vectorY: y-component of the direction vector
+     * @param gradient: index of the gradient in the corner
      * @return scalar product
      */
-    private double scalarVekGrad(Vector<Double> vector, Vector<Double> gradient){
-        return (vector.getX()*gradient.getX() + vector.getY()*gradient.getY());
+    private double scalarVekGrad(double vectorX, double vectorY, int gradient){
+        return (vectorX*GRADIENTS_X[gradient] + vectorY*GRADIENTS_Y[gradient]);
     }
 
     /**
-     * Converts the value from its old interval [oldMin,oldMax] to a new interval [newMin,newMax]
+     * Converts the value from the interval [-1,1] to [0,1], values outside are clamped
      * @param value : value to be converted
      * @return converted value
      */
     private double mapToInterval(double value) {
-        return (value + 1.0)/2.0;
+        return Math.min(1.0, Math.max(0.0, (value + 1.0)/2.0));
     }
 
 
@@ -110,44 +233,110 @@ public class PerlinNoise {
             return 0;
         }
 
-        double scaledX = x / this.scale;
-        double scaledY = y / this.scale;
+        double sum = 0;
+        for(int o=0;o<this.octaves;o++)
+            sum += this.amplitudes[o] * this.getOctaveNoise(x*this.frequencies[o] + this.offsetsX[o], y*this.frequencies[o] + this.offsetsY[o]);
+
+        return this.mapToInterval(sum);
+    }
 
+    /**
+     * Creates the noise value of a single octave, the point is given in lattice coordinates
+     * @param scaledX: x-coordinate in lattice cells
+     * @param scaledY: y-coordinate in lattice cells
+     * @return noise in the interval [-1,1]
+     */
+    private double getOctaveNoise(double scaledX, double scaledY) {
         //Left upper edge
         int xlo = (int) scaledX;
         int ylo = (int) scaledY;
 
-        //right upper egde
-        int xro = ((int) scaledX)+1;
-        int yro = ((int) scaledY);
+        // direction vectors to the four corners
+        double left = scaledX - xlo, right = left - 1.0;
+        double upper = scaledY - ylo, lower = upper - 1.0;
 
-        //left lower edge
-        int xlu = (int) scaledX;
-        int ylu = ((int) scaledY)+1;
+        double fadeX = this.fade(left);
 
-        //right lower edge
-        int xru = ((int) scaledX)+1;
-        int yru = ((int) scaledY)+1;
+        //upper edges
+        double linIntOben = this.linearInterpolation(this.scalarVekGrad(left,upper,this.gradient(xlo,ylo)),this.scalarVekGrad(right,upper,this.gradient(xlo+1,ylo)),fadeX);
 
-        // int cell_nr = xlo+(ylo*this.gwidth);
+        //lower edges
+        double linIntUnten = this.linearInterpolation(this.scalarVekGrad(left,lower,this.gradient(xlo,ylo+1)),this.scalarVekGrad(right,lower,this.gradient(xlo+1,ylo+1)),fadeX);
 
-        Vector<Double> gradLO = this.Vectors.get(xlo+(ylo*(this.gwidth+1)));
-        Vector<Double> gradRO = this.Vectors.get(xro+(yro*(this.gwidth+1)));
-        Vector<Double> gradLU = this.Vectors.get(xlu+((ylu)*(this.gwidth+1)));
-        Vector<Double> gradRU = this.Vectors.get(xru+((yru)*(this.gwidth+1)));
+        //final interpolation
+        return this.linearInterpolation(linIntOben,linIntUnten,this.fade(upper));
+    }
 
-        Vector<Double> rvLO = new Vector<>(scaledX - xlo,scaledY - ylo);
-        Vector<Double> rvRO = new Vector<>(scaledX - xro,scaledY - yro);
-        Vector<Double> rvLU = new Vector<>(scaledX - xlu,scaledY - ylu);
-        Vector<Double> rvRU = new Vector<>(scaledX - xru,scaledY - yru);
+    /**
+     * Creates the noise values of a whole row, the result is identical to calling getNoise(x, y) for every x.
+     * Inside a cell all pixels share the same four gradients, so they are looked up once per cell and octave.
+     * The inner loop then only does arithmetic on primitive values without branches or index lookups,
+     * which allows the JIT compiler to process several pixels per instruction (auto-vectorization)
+     * @param y: y-coordinate of the row
+     * @param result: array for the noise values, at least as long as the real width
+     */
+    public void getNoiseRow(int y, double[] result) {
+        getNoiseRow(y, 0, width, result);
+    }
 
-        //upper edges
-        double linIntOben = this.linearInterpolation(this.scalarVekGrad(rvLO,gradLO),this.scalarVekGrad(rvRO,gradRO),this.fade(rvLO.getX()));
+    /**
+     * Creates the noise values of the pixels fromX to toX - 1 of a row, see getNoiseRow(int, double[])
+     * @param y: y-coordinate of the row
+     * @param fromX: first x-coordinate
+     * @param toX: x-coordinate after the last pixel
+     * @param result: array for the noise values, the value of pixel x is stored at x - fromX.
+     *              If the range is not inside the picture, an error is printed and the result is filled with 0
+     */
+    public void getNoiseRow(int y, int fromX, int toX, double[] result) {
+        if (y < 0 || y >= height || fromX < 0 || fromX > toX || toX > width) {
+            System.out.println("ERROR: x or/and y is not in picture");
+            Arrays.fill(result, 0, Math.min(result.length, Math.max(0, toX - fromX)), 0);
+            return;
+        }
 
-        //lower edges
-        double linIntUnten = this.linearInterpolation(this.scalarVekGrad(rvLU,gradLU),this.scalarVekGrad(rvRU,gradRU),this.fade(rvLO.getX()));
+        Arrays.fill(result, 0, toX - fromX, 0);
 
-        //final interpolation
-        return this.mapToInterval(this.linearInterpolation(linIntOben,linIntUnten,this.fade(rvLO.getY())));
+        for(int o=0;o<this.octaves;o++)
+            addOctaveRow(o, y, fromX, toX, result);
+
+        for(int x=fromX;x<toX;x++)
+            result[x-fromX] = this.mapToInterval(result[x-fromX]);
+    }
+
+    /**
+     * Adds the weighted noise of one octave to the pixels fromX to toX - 1 of a row
+     */
+    private void addOctaveRow(int octave, int y, int fromX, int toX, double[] result) {
+        double amplitude = this.amplitudes[octave];
+
+        double scaledY = y*this.frequencies[octave] + this.offsetsY[octave];
+        int ylo = (int) scaledY;
+        double upper = scaledY - ylo, lower = upper - 1.0;
+        double fadeY = this.fade(upper);
+
+        int[] cells = this.columnCells[octave], ends = this.columnEnds[octave];
+        double[] lefts = this.columnLeft[octave], fades = this.columnFade[octave];
+
+        int x = fromX;
+        while(x<toX){
+            int cell = cells[x];
+            int end = Math.min(ends[x], toX);
+
+            // the y-parts of the four scalar products are the same for the whole cell
+            int gradLO = this.gradient(cell,ylo), gradRO = this.gradient(cell+1,ylo);
+            int gradLU = this.gradient(cell,ylo+1), gradRU = this.gradient(cell+1,ylo+1);
+            double gradLOx = GRADIENTS_X[gradLO], upperLeft = upper*GRADIENTS_Y[gradLO];
+            double gradROx = GRADIENTS_X[gradRO], upperRight = upper*GRADIENTS_Y[gradRO];
+            double gradLUx = GRADIENTS_X[gradLU], lowerLeft = lower*GRADIENTS_Y[gradLU];
+            double gradRUx = GRADIENTS_X[gradRU], lowerRight = lower*GRADIENTS_Y[gradRU];
+
+            for(int i=x;i<end;i++){
+                double left = lefts[i], right = left - 1.0, fadeX = fades[i];
+                double linIntOben = this.linearInterpolation(left*gradLOx + upperLeft, right*gradROx + upperRight, fadeX);
+                double linIntUnten = this.linearInterpolation(left*gradLUx + lowerLeft, right*gradRUx + lowerRight, fadeX);
+                result[i-fromX] += amplitude * this.linearInterpolation(linIntOben,linIntUnten,fadeY);
+            }
+            x = end;
+        }
     }
 }
@@ -0,0 +1,134 @@
+package base;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * Arbeitsspeicher einer Suche in {@link GraphAlgorithm}: Wert, Vorgänger und Status jedes Knotens in primitiven Arrays
+ * sowie der Heap der noch offenen Knoten.
+ * Jeder Eintrag ist mit der Epoche markiert, in der er geschrieben wurde. {@link #reset()} erhöht nur die Epoche,
+ * alle älteren Einträge gelten danach als nicht gesetzt. Das Zurücksetzen kostet also unabhängig von der Knotenanzahl konstante Zeit.
+ *
+ * Über {@link #acquire(int)} und {@link #release(SearchWorkspace)} werden Instanzen pro Thread wiederverwendet,
+ * sodass aufeinanderfolgende Suchen keine neuen Arrays anlegen müssen.
+ */
+final class SearchWorkspace {
+
+    private static final int MAX_POOLED = 4;
+    private static final ThreadLocal<ArrayDeque<SearchWorkspace>> POOL = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final double[] values;
+    private final int[] previous;
+    private final int[] previousSlot;
+    private final int[] reachedEpoch;
+    private final int[] settledEpoch;
+    private final IndexedMinHeap queue;
+    private int epoch;
+
+    private SearchWorkspace(int capacity) {
+        this.values = new double[capacity];
+        this.previous = new int[capacity];
+        this.previousSlot = new int[capacity];
+        this.reachedEpoch = new int[capacity];
+        this.settledEpoch = new int[capacity];
+        this.queue = new IndexedMinHeap(capacity);
+        this.epoch = 1;
+    }
+
+    /**
+     * Gibt einen zurückgesetzten Arbeitsspeicher für mindestens die angegebene Anzahl an Knoten zurück.
+     * Falls möglich, wird ein zuvor freigegebener Arbeitsspeicher des aktuellen Threads wiederverwendet.
+     * @param nodeCount die Anzahl der Knoten
+     * @return der Arbeitsspeicher
+     */
+    static SearchWorkspace acquire(int nodeCount) {
+        ArrayDeque<SearchWorkspace> pool = POOL.get();
+        SearchWorkspace workspace = pool.poll();
+        while(workspace != null && workspace.getCapacity() < nodeCount)
+            workspace = pool.poll();
+
+        if(workspace == null)
+            return new SearchWorkspace(nodeCount);
+
+        workspace.reset();
+        return workspace;
+    }
+
+    /**
+     * Gibt einen Arbeitsspeicher an den Pool des aktuellen Threads zurück. Er darf danach nicht mehr verwendet werden.
+     * Wird derselbe Arbeitsspeicher mehrfach zurückgegeben, liegt er trotzdem nur einmal im Pool,
+     * sonst würden ihn zwei spätere Suchen gleichzeitig verwenden.
+     * @param workspace der Arbeitsspeicher
+     */
+    static void release(SearchWorkspace workspace) {
+        ArrayDeque<SearchWorkspace> pool = POOL.get();
+        if(pool.size() < MAX_POOLED && !pool.contains(workspace))
+            pool.push(workspace);
+    }
+
+    int getCapacity() {
+        return values.length;
+    }
+
+    /**
+     * Verwirft alle Einträge
+     */
+    void reset() {
+        queue.clear();
+        if(epoch == Integer.MAX_VALUE) {
+            Arrays.fill(reachedEpoch, 0);
+            Arrays.fill(settledEpoch, 0);
+            epoch = 0;
+        }
+
+        epoch++;
+    }
+
+    IndexedMinHeap getQueue() {
+        return queue;
+    }
+
+    boolean isReached(int id) {
+        return reachedEpoch[id] == epoch;
+    }
+
+    /**
+     * @return der Wert des Knotens oder -1, falls er nicht erreicht wurde
+     */
+    double getValue(int id) {
+        return isReached(id) ? values[id] : -1;
+    }
+
+    /**
+     * @return der Index des Vorgängerknotens oder -1
+     */
+    int getPrevious(int id) {
+        return isReached(id) ? previous[id] : -1;
+    }
+
+    int getPreviousSlot(int id) {
+        return previousSlot[id];
+    }
+
+    /**
+     * Setzt Wert und Vorgänger eines Knotens
+     * @param id der Index des Knotens
+     * @param value der neue Wert
+     * @param previousId der Index des Vorgängerknotens oder -1
+     * @param slot die Position der Kante zum Vorgänger in der {@link CompactGraph}-Momentaufnahme
+     */
+    void update(int id, double value, int previousId, int slot) {
+        values[id] = value;
+        previous[id] = previousId;
+        previousSlot[id] = slot;
+        reachedEpoch[id] = epoch;
+    }
+
+    boolean isSettled(int id) {
+        return settledEpoch[id] == epoch;
+    }
+
+    void settle(int id) {
+        settledEpoch[id] = epoch;
+    }
+}
@@ -0,0 +1,209 @@
+package base;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Ein räumlicher Index über Punkte in einem rechteckigen Bereich. Der Bereich wird in gleich große quadratische Zellen unterteilt,
+ * jeder Eintrag wird in der Zelle seiner Position gespeichert. Eine Abfrage im Radius r betrachtet nur die Zellen,
+ * die den Kreis überdecken. Ist die Zellgröße mindestens r und sind die Punkte gleichmäßig verteilt,
+ * benötigt eine Abfrage damit unabhängig von der Anzahl der Einträge erwartet konstante Zeit.
+ *
+ * Die Einträge einer Zelle bilden eine verkettete Liste über Indizes in primitiven Arrays,
+ * sodass beim Einfügen und Abfragen keine Objekte angelegt werden.
+ * Positionen außerhalb des Bereichs werden der nächstgelegenen Randzelle zugeordnet.
+ * @param <T> Die Datenstruktur der Einträge
+ */
+public class SpatialGrid<T> {
+
+    private final double cellSize;
+    private final int columns;
+    private final int rows;
+
+    // Index des ersten Eintrags jeder Zelle bzw. des nächsten Eintrags in derselben Zelle, jeweils -1 für das Ende
+    private final int[] cellHeads;
+    private int[] next;
+
+    private double[] xs;
+    private double[] ys;
+    private final List<T> values;
+
+    /**
+     * Erstellt einen leeren Index
+     * @param width die Breite des Bereichs
+     * @param height die Höhe des Bereichs
+     * @param cellSize die Seitenlänge einer Zelle, idealerweise der übliche Abfrageradius
+     */
+    public SpatialGrid(double width, double height, double cellSize) {
+        if(cellSize <= 0)
+            throw new IllegalArgumentException("cellSize muss größer als 0 sein");
+
+        this.cellSize = cellSize;
+        this.columns = Math.max(1, (int) Math.ceil(width / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(height / cellSize));
+        this.cellHeads = new int[columns * rows];
+        Arrays.fill(this.cellHeads, -1);
+
+        this.next = new int[16];
+        this.xs = new double[16];
+        this.ys = new double[16];
+        this.values = new ArrayList<>();
+    }
+
+    private int column(double x) {
+        return Math.min(columns - 1, Math.max(0, (int) Math.floor(x / cellSize)));
+    }
+
+    private int row(double y) {
+        return Math.min(rows - 1, Math.max(0, (int) Math.floor(y / cellSize)));
+    }
+
+    /**
+     * Fügt einen Eintrag an der angegebenen Position hinzu
+     * @param value der Eintrag
+     * @param x die X-Koordinate
+     * @param y die Y-Koordinate
+     */
+    public void add(T value, double x, double y) {
+        int index = values.size();
+        if(index == xs.length) {
+            next = Arrays.copyOf(next, index * 2);
+            xs = Arrays.copyOf(xs, index * 2);
+            ys = Arrays.copyOf(ys, index * 2);
+        }
+
+        int cell = row(y) * columns + column(x);
+        xs[index] = x;
+        ys[index] = y;
+        next[index] = cellHeads[cell];
+        cellHeads[cell] = index;
+        values.add(value);
+    }
+
+    /**
+     * Gibt an, ob ein Eintrag näher als radius an der angegebenen Position liegt
+     * @param x die X-Koordinate
+     * @param y die Y-Koordinate
+     * @param radius der Radius
+     * @return true, wenn ein Eintrag mit einem Abstand kleiner als radius existiert
+     */
+    public boolean containsWithin(double x, double y, double radius) {
+        return findWithin(x, y, radius, null);
+    }
+
+    /**
+     * Gibt alle Einträge zurück, die näher als radius an der angegebenen Position liegen
+     * @param x die X-Koordinate
+     * @param y die Y-Koordinate
+     * @param radius der Radius
+     * @return eine Liste der Einträge in beliebiger Reihenfolge
+     */
+    public List<T> getWithin(double x, double y, double radius) {
+        List<T> result = new ArrayList<>();
+        findWithin(x, y, radius, result);
+        return result;
+    }
+
+    /**
+     * Gibt die k nächstgelegenen Einträge zurück, die näher als radius an der angegebenen Position liegen.
+     * Die Zellen werden dazu ringförmig um die Zelle der Position durchsucht. Die Suche endet, sobald kein weiterer Ring
+     * einen näheren Eintrag enthalten kann, bei gleichmäßig verteilten Punkten also nach wenigen Ringen.
+     * @param x die X-Koordinate
+     * @param y die Y-Koordinate
+     * @param k die maximale Anzahl der Einträge
+     * @param radius der Radius, {@link Double#POSITIVE_INFINITY} für eine unbegrenzte Suche
+     * @return eine Liste von höchstens k Einträgen, aufsteigend nach ihrem Abstand
+     */
+    public List<T> getNearest(double x, double y, int k, double radius) {
+        int[] nearest = new int[Math.max(0, k)];
+        double[] nearestDistances = new double[nearest.length];
+        int count = 0;
+
+        double radiusSquared = radius * radius;
+        int centerColumn = column(x), centerRow = row(y);
+        int maxRing = Math.max(columns, rows);
+        for(int ring = 0; ring <= maxRing && k > 0; ring++) {
+            // Alle Einträge ab diesem Ring sind mindestens (ring - 1) Zellen von der Position entfernt
+            double minDistance = Math.max(0, ring - 1) * cellSize;
+            if(minDistance >= radius || (count == k && nearestDistances[k - 1] <= minDistance * minDistance))
+                break;
+
+            for(int row = centerRow - ring; row <= centerRow + ring; row++) {
+                if(row < 0 || row >= rows)
+                    continue;
+
+                // Innerhalb des Rings liegen nur die linke und rechte Zelle, am oberen und unteren Rand die ganze Zeile
+                boolean edgeRow = row == centerRow - ring || row == centerRow + ring;
+                int step = edgeRow || ring == 0 ? 1 : 2 * ring;
+                for(int column = centerColumn - ring; column <= centerColumn + ring; column += step) {
+                    if(column < 0 || column >= columns)
+                        continue;
+
+                    for(int index = cellHeads[row * columns + column]; index != -1; index = next[index]) {
+                        double dx = xs[index] - x;
+                        double dy = ys[index] - y;
+                        double distance = dx * dx + dy * dy;
+                        if(distance >= radiusSquared || (count == k && distance >= nearestDistances[k - 1]))
+                            continue;
+
+                        // Einfügen in die aufsteigend sortierten Arrays, der bisher weiteste Eintrag fällt gegebenenfalls heraus
+                        int position = count == k ? k - 1 : count++;
+                        while(position > 0 && nearestDistances[position - 1] > distance) {
+                            nearest[position] = nearest[position - 1];
+                            nearestDistances[position] = nearestDistances[position - 1];
+                            position--;
+                        }
+
+                        nearest[position] = index;
+                        nearestDistances[position] = distance;
+                    }
+                }
+            }
+        }
+
+        List<T> result = new ArrayList<>(count);
+        for(int i = 0; i < count; i++)
+            result.add(values.get(nearest[i]));
+
+        return result;
+    }
+
+    /**
+     * Durchsucht alle Zellen, die den Kreis überdecken
+     * @param result die Liste, zu der die gefundenen Einträge hinzugefügt werden, oder null, um beim ersten Treffer abzubrechen
+     * @return true, wenn mindestens ein Eintrag gefunden wurde
+     */
+    private boolean findWithin(double x, double y, double radius, List<T> result) {
+        double radiusSquared = radius * radius;
+        int minColumn = column(x - radius), maxColumn = column(x + radius);
+        int minRow = row(y - radius), maxRow = row(y + radius);
+        boolean found = false;
+
+        for(int row = minRow; row <= maxRow; row++) {
+            for(int column = minColumn; column <= maxColumn; column++) {
+                for(int index = cellHeads[row * columns + column]; index != -1; index = next[index]) {
+                    double dx = xs[index] - x;
+                    double dy = ys[index] - y;
+                    if(dx * dx + dy * dy < radiusSquared) {
+                        if(result == null)
+                            return true;
+
+                        result.add(values.get(index));
+                        found = true;
+                    }
+                }
+            }
+        }
+
+        return found;
+    }
+
+    /**
+     * Gibt die Anzahl der Einträge zurück
+     * @return die Anzahl der Einträge
+     */
+    public int size() {
+        return values.size();
+    }
+}
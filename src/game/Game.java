@@ -3,6 +3,7 @@ package game;
 import java.util.*;
 
 import game.map.Castle;
+import game.map.EdgeMode;
 import game.map.Kingdom;
 import game.map.GameMap;
 import game.map.MapSize;
@@ -17,6 +18,7 @@ public class Game {
     private boolean hasStarted;
     private int round;
     private MapSize mapSize;
+    private long seed;
     private GameMap gameMap;
     private Queue<Player> playerQueue;
     private Player startingPlayer;
@@ -28,6 +30,7 @@ public class Game {
         this.isOver = false;
         this.hasStarted = false;
         this.mapSize = MapSize.MEDIUM;
+        this.seed = new SplittableRandom().nextLong();
         this.players = new LinkedList<>();
     }
 
@@ -51,6 +54,15 @@ public class Game {
         this.mapSize = mapSize;
     }
 
+    // Same seed, map size and player count result in the same map
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
     private void generateMap() {
 
         int mapSizeMultiplier = this.mapSize.ordinal() + 1;
@@ -67,7 +79,7 @@ public class Game {
 
         int continents = Math.min(3, playerCount + this.mapSize.ordinal());
 
-        this.gameMap = GameMap.generateRandomMap(width, height, 40, numRegions, continents);
+        this.gameMap = GameMap.generateRandomMap(width, height, 40, numRegions, continents, EdgeMode.NEAREST_NEIGHBOURS, seed);
     }
 
     public void start(GameInterface gameInterface) {
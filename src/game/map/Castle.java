@@ -17,6 +17,7 @@ public class Castle {
     private Kingdom kingdom;
     private Point location;
     private String name;
+    private OwnerListener ownerListener;
 
     /**
      * Eine neue Burg erstellen
@@ -73,7 +74,9 @@ public class Castle {
      * @return die euklidische Distanz
      */
     public double distance(Point dest) {
-        return Math.sqrt(Math.pow(this.location.x - dest.x, 2) + Math.pow(this.location.y - dest.y, 2));
+        double dx = this.location.x - dest.x;
+        double dy = this.location.y - dest.y;
+        return Math.sqrt(dx * dx + dy * dy);
     }
 
     /**
@@ -88,7 +91,18 @@ public class Castle {
     }
 
     public void setOwner(Player player) {
+        Player oldOwner = this.owner;
         this.owner = player;
+        if(oldOwner != player && ownerListener != null)
+            ownerListener.ownerChanged(this, oldOwner, player);
+    }
+
+    /**
+     * Setzt den Listener, der bei jeder Änderung des Besitzers benachrichtigt wird
+     * @param ownerListener der Listener oder null
+     */
+    public void setOwnerListener(OwnerListener ownerListener) {
+        this.ownerListener = ownerListener;
     }
 
     public void addTroops(int i) {
@@ -105,7 +119,7 @@ public class Castle {
     public void removeTroops(int i) {
         this.troopCount = Math.max(0, this.troopCount - i);
         if(this.troopCount == 0)
-            this.owner = null;
+            setOwner(null);
     }
 
     /**
@@ -25,10 +25,21 @@ public class Clustering {
      * @param kingdomCount Die Anzahl von Königreichen die generiert werden sollen
      */
     public Clustering(List<Castle> castles, int kingdomCount) {
+        this(castles, kingdomCount, new Random());
+    }
+
+    /**
+     * Ein neues Clustering-Objekt erzeugen, dessen Startpunkte aus dem angegebenen Zufallsgenerator stammen.
+     * Bei gleichem Zustand des Zufallsgenerators entstehen dieselben Königreiche.
+     * @param castles Die Liste von Burgen, die aufgeteilt werden sollen
+     * @param kingdomCount Die Anzahl von Königreichen die generiert werden sollen
+     * @param random Der Zufallsgenerator
+     */
+    public Clustering(List<Castle> castles, int kingdomCount, Random random) {
         if (kingdomCount < 2)
             throw new IllegalArgumentException("Ungültige Anzahl an Königreichen");
 
-        this.random = new Random();
+        this.random = random;
         this.kingdomCount = kingdomCount;
         this.allCastles = Collections.unmodifiableList(castles);
     }
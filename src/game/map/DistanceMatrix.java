@@ -0,0 +1,122 @@
+package game.map;
+
+import base.Graph;
+import base.Node;
+
+/**
+ * Diese Klasse speichert die Distanzen zwischen allen Burgen einer Karte, damit sie nicht bei jeder Abfrage neu berechnet werden müssen.
+ * Die euklidischen Distanzen werden beim Erstellen berechnet, die Distanzen entlang der Kanten (kürzeste Pfade) erst beim ersten Zugriff.
+ * Die Pfadlängen werden dabei parallel über {@link base.CompactGraph#allPairsDistances()} berechnet.
+ * Beide werden als flache Arrays gespeichert, die Distanz zwischen den Burgen mit den Indizes a und b liegt an Position a * n + b.
+ * Der Speicherbedarf wächst quadratisch mit der Anzahl der Burgen, {@link PathFinding} und {@link FrontLine} verwenden sie daher nicht.
+ * Eine Instanz wird über {@link GameMap#getDistanceMatrix()} erzeugt.
+ */
+public class DistanceMatrix {
+
+    private final Graph<Castle> graph;
+    private final int castleCount;
+    private final double[] euclidean;
+    private float[] pathDistances;
+
+    /**
+     * Erstellt eine neue Distanzmatrix und berechnet alle euklidischen Distanzen
+     * @param graph der Burg-Graph, die Indizes entsprechen {@link Node#getId()}
+     * @throws IllegalArgumentException falls die Matrix für die Anzahl der Burgen nicht in ein Array passt
+     */
+    DistanceMatrix(Graph<Castle> graph) {
+        this.graph = graph;
+        this.castleCount = graph.getNodes().size();
+        this.euclidean = new double[matrixSize(castleCount)];
+
+        for(int a = 0; a < castleCount; a++) {
+            Castle castleA = graph.getNodes().get(a).getValue();
+            for(int b = a + 1; b < castleCount; b++) {
+                double distance = castleA.distance(graph.getNodes().get(b).getValue());
+                euclidean[a * castleCount + b] = distance;
+                euclidean[b * castleCount + a] = distance;
+            }
+        }
+    }
+
+    /**
+     * Gibt die Anzahl der Einträge einer Matrix für die angegebene Anzahl an Burgen zurück
+     * @param castleCount die Anzahl der Burgen
+     * @return castleCount * castleCount
+     * @throws IllegalArgumentException falls das Produkt nicht in ein int passt
+     */
+    private static int matrixSize(int castleCount) {
+        try {
+            return Math.multiplyExact(castleCount, castleCount);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Zu viele Burgen für eine Distanzmatrix: " + castleCount, e);
+        }
+    }
+
+    private int indexOf(Castle castle) {
+        return graph.getNode(castle).getId();
+    }
+
+    /**
+     * Gibt die euklidische Distanz zwischen zwei Burgen zurück
+     * @param a der Index der ersten Burg
+     * @param b der Index der zweiten Burg
+     * @return die euklidische Distanz
+     */
+    public double getDistance(int a, int b) {
+        return euclidean[a * castleCount + b];
+    }
+
+    /**
+     * Gibt die euklidische Distanz zwischen zwei Burgen zurück
+     * @param a die erste Burg
+     * @param b die zweite Burg
+     * @return die euklidische Distanz
+     * @see Castle#distance(Castle)
+     */
+    public double getDistance(Castle a, Castle b) {
+        return getDistance(indexOf(a), indexOf(b));
+    }
+
+    /**
+     * Gibt die Länge des kürzesten Pfads entlang der Kanten zwischen zwei Burgen zurück. Besitzer werden dabei nicht berücksichtigt.
+     * Beim ersten Aufruf werden alle Pfadlängen berechnet.
+     * @param a der Index der ersten Burg
+     * @param b der Index der zweiten Burg
+     * @return die Pfadlänge oder {@link Float#POSITIVE_INFINITY}, falls kein Pfad existiert
+     */
+    public float getPathDistance(int a, int b) {
+        return getPathDistances()[a * castleCount + b];
+    }
+
+    /**
+     * Gibt die Länge des kürzesten Pfads entlang der Kanten zwischen zwei Burgen zurück
+     * @param a die erste Burg
+     * @param b die zweite Burg
+     * @return die Pfadlänge oder {@link Float#POSITIVE_INFINITY}, falls kein Pfad existiert
+     * @see #getPathDistance(int, int)
+     */
+    public float getPathDistance(Castle a, Castle b) {
+        return getPathDistance(indexOf(a), indexOf(b));
+    }
+
+    private synchronized float[] getPathDistances() {
+        if(pathDistances == null) {
+            float[] result = new float[matrixSize(castleCount)];
+            double[] distances = graph.freeze().allPairsDistances();
+            for(int i = 0; i < distances.length; i++)
+                result[i] = (float) distances[i];
+
+            pathDistances = result;
+        }
+
+        return pathDistances;
+    }
+
+    /**
+     * Gibt die Anzahl der Burgen zurück
+     * @return die Anzahl der Burgen
+     */
+    public int getCastleCount() {
+        return castleCount;
+    }
+}
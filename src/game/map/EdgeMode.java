@@ -0,0 +1,24 @@
+package game.map;
+
+/**
+ * Die Verfahren, mit denen {@link GameMap} die Verbindungen zwischen den Burgen erzeugt
+ * @see GameMap#generateRandomMap(int, int, int, int, int, EdgeMode)
+ */
+public enum EdgeMode {
+
+    /**
+     * Jede Burg wird mit ihren nächsten Nachbarn in einem Radius verbunden. Kanten können sich dabei kreuzen,
+     * einzelne Burgen und Inseln werden nachträglich verbunden.
+     */
+    NEAREST_NEIGHBOURS,
+
+    /**
+     * Gabriel-Graph aus der Delaunay-Triangulierung: kreuzungsfrei und zusammenhängend, mit vielen Verbindungen
+     */
+    GABRIEL,
+
+    /**
+     * Relative-Nachbarschafts-Graph aus der Delaunay-Triangulierung: kreuzungsfrei und zusammenhängend, mit wenigen Verbindungen
+     */
+    RELATIVE_NEIGHBOURHOOD
+}
@@ -0,0 +1,100 @@
+package game.map;
+
+import base.Edge;
+import base.GraphAlgorithm;
+import base.Node;
+import game.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Berechnet für alle Burgen eines Spielers den Abstand zur nächsten fremden Burg.
+ * Dazu werden alle fremden Burgen gleichzeitig als Startknoten verwendet, sodass ein einziger Durchlauf genügt.
+ * Die Suche breitet sich dabei nur über die Burgen des Spielers aus.
+ */
+public class FrontLine extends GraphAlgorithm<Castle> {
+
+    private final Player player;
+    // Die Vorgänger aller Burgen, sie werden bei der ersten Abfrage einmal kopiert und für alle weiteren verwendet
+    private int[] predecessors;
+
+    /**
+     * Erstellt eine neue Front-Berechnung. Die Suche wird erst bei der ersten Abfrage ausgeführt.
+     * @param map die Karte
+     * @param player der Spieler, für dessen Burgen die Abstände berechnet werden
+     */
+    public FrontLine(GameMap map, Player player) {
+        super(map.getGraph(), getForeignNodes(map, player));
+        this.player = player;
+    }
+
+    private static List<Node<Castle>> getForeignNodes(GameMap map, Player player) {
+        List<Node<Castle>> foreignNodes = new ArrayList<>();
+        for(Node<Castle> node : map.getGraph().getNodes()) {
+            if(node.getValue().getOwner() != player)
+                foreignNodes.add(node);
+        }
+
+        return foreignNodes;
+    }
+
+    @Override
+    public void setSource(Node<Castle> sourceNode) {
+        super.setSource(sourceNode);
+        this.predecessors = null;
+    }
+
+    @Override
+    public void setSources(Collection<Node<Castle>> sourceNodes) {
+        super.setSources(sourceNodes);
+        this.predecessors = null;
+    }
+
+    @Override
+    protected double getValue(Edge<Castle> edge) {
+        return edge.getNodeA().getValue().distance(edge.getNodeB().getValue());
+    }
+
+    @Override
+    protected boolean isPassable(Edge<Castle> edge) {
+        return true;
+    }
+
+    @Override
+    protected boolean isPassable(Node<Castle> node) {
+        return node.getValue().getOwner() == player;
+    }
+
+    /**
+     * Gibt den Abstand der Burg zur nächsten fremden Burg zurück
+     * @param castle eine Burg des Spielers
+     * @return der Abstand oder -1, falls keine fremde Burg erreichbar ist
+     */
+    public double getDistance(Castle castle) {
+        return getDistance(getGraph().getNode(castle));
+    }
+
+    /**
+     * Gibt die Burg des Spielers an der Front zurück, über die die angegebene Burg am schnellsten eine fremde Burg erreicht.
+     * Liegt die Burg selbst an der Front, wird sie selbst zurückgegeben.
+     * @param castle eine Burg des Spielers
+     * @return die Burg an der Front oder null, falls keine fremde Burg erreichbar ist
+     */
+    public Castle getNearestFrontCastle(Castle castle) {
+        if(predecessors == null)
+            predecessors = getPredecessors();
+
+        List<Node<Castle>> nodes = getGraph().getNodes();
+
+        int current = getGraph().getNode(castle).getId();
+        if(predecessors[current] == -1)
+            return null;
+
+        while(nodes.get(predecessors[current]).getValue().getOwner() == player)
+            current = predecessors[current];
+
+        return nodes.get(current).getValue();
+    }
+}
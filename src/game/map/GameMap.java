@@ -1,14 +1,15 @@
 package game.map;
 
 import base.*;
-import game.GameConstants;
+import game.Player;
 import gui.Resources;
+import gui.components.MapPanel;
 
 import java.awt.*;
-import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.stream.Stream;
 
 /**
@@ -19,63 +20,48 @@ import java.util.stream.Stream;
  */
 public class GameMap {
 
-    private BufferedImage backgroundImage;
+    private TiledBackground background;
     private Graph<Castle> castleGraph;
     private List<Kingdom> kingdoms;
+    private DistanceMatrix distanceMatrix;
+    private PathCache pathCache;
 
     // Map Generation
-    private double[][] noiseValues;
+    private static final int MAX_NEIGHBOURS = 2;
+    private static final double EDGE_RADIUS_FACTOR = 1.5;
+    private PerlinNoise perlinNoise;
     private int width, height, scale;  
+    private long seed;
+    private long noiseSeed;
 
     /**
      * Erzeugt eine neue leere Karte. Der Konstruktor sollte niemals direkt aufgerufen werden.
-     * Um eine neue Karte zu erstellen, muss {@link #generateRandomMap(int, int, int, int, int)} verwendet werden
+     * Um eine neue Karte zu erstellen, muss {@link #generateRandomMap(int, int, int, int, int)} verwendet werden,
+     * gespeicherte Karten werden über {@link MapFile#read(java.nio.file.Path)} geladen
      * @param width die Breite der Karte
      * @param height die Höhe der Karte
      * @param scale der Skalierungsfaktor
+     * @param seed der Startwert der Zufallsgeneratoren
      */
-    private GameMap(int width, int height, int scale) {
-        this.castleGraph = new Graph<>();
+    GameMap(int width, int height, int scale, long seed) {
+        this.castleGraph = new Graph<>(Castle::distance);
         this.width = width;
         this.height = height;
         this.scale = scale;
+        this.seed = seed;
+        this.pathCache = new PathCache(this);
     }
 
     /**
-     * Wandelt einen Noise-Wert in eine Farbe um. Die Methode kann nach belieben angepasst werden
-     * @param value der Perlin-Noise-Wert
-     * @return die resultierende Farbe
-     */
-    private Color doubleToColor(double value) {
-        if (value <= 0.40)
-            return GameConstants.COLOR_WATER;
-        else if (value <= 0.5)
-            return GameConstants.COLOR_SAND;
-        else if (value <= 0.7)
-            return GameConstants.COLOR_GRASS;
-        else if (value <= 0.8)
-            return GameConstants.COLOR_STONE;
-        else
-            return GameConstants.COLOR_SNOW;
-    }
-
-    /**
-     * Hier wird das Hintergrund-Bild mittels Perlin-Noise erzeugt.
+     * Hier wird der Perlin-Noise für das Hintergrund-Bild erzeugt. Das Bild selbst wird erst beim Zeichnen
+     * kachelweise berechnet, siehe {@link TiledBackground}.
      * Siehe auch: {@link PerlinNoise}
+     * @param noiseSeed der Startwert für den Perlin-Noise, derselbe Startwert ergibt dasselbe Gelände
      */
-    private void generateBackground() {
-        PerlinNoise perlinNoise = new PerlinNoise(width, height, scale);
-        Dimension realSize = perlinNoise.getRealSize();
-
-        noiseValues = new double[realSize.width][realSize.height];
-        backgroundImage = new BufferedImage(realSize.width, realSize.height, BufferedImage.TYPE_INT_RGB);
-        for (int x = 0; x < realSize.width; x++) {
-            for (int y = 0; y < realSize.height; y++) {
-                double noiseValue = perlinNoise.getNoise(x, y);
-                noiseValues[x][y] = noiseValue;
-                backgroundImage.setRGB(x, y, doubleToColor(noiseValue).getRGB());
-            }
-        }
+    void generateBackground(long noiseSeed) {
+        this.noiseSeed = noiseSeed;
+        perlinNoise = new PerlinNoise(width, height, scale, new Random(noiseSeed));
+        background = new TiledBackground(perlinNoise);
     }
 
     /**
@@ -84,8 +70,9 @@ public class GameMap {
      * Sollte auf einem Feld keine Position für eine Burg existieren (z.B. aufgrund von Wasser oder angrenzenden Burgen), wird dieses übersprungen.
      * Dadurch kann es vorkommen, dass nicht alle Burgen generiert werden
      * @param castleCount die maximale Anzahl der zu generierenden Burgen
+     * @param random der Zufallsgenerator für diesen Schritt
      */
-    private void generateCastles(int castleCount) {
+    private void generateCastles(int castleCount, SplittableRandom random) {
         double square = Math.ceil(Math.sqrt(castleCount));
         double length = width + height;
 
@@ -106,11 +93,13 @@ public class GameMap {
             }
         }
 
-        // Generate castles
-        List<String> possibleNames = generateCastleNames();
+        // Generate castles, the grid answers the intersection check without looking at every castle
+        List<String> possibleNames = generateCastleNames(random);
+        int minDistance = Math.max(tileW, tileH);
+        SpatialGrid<Castle> placedCastles = new SpatialGrid<>(width * scale, height * scale, minDistance);
         int castlesGenerated = 0;
         while (possibleFields.size() > 0 && castlesGenerated < castleCount) {
-            Point randomField = possibleFields.remove((int) (Math.random() * possibleFields.size()));
+            Point randomField = removeRandom(possibleFields, random);
             int x0 = (int) ((randomField.x + 0.5) * tileW);
             int y0 = (int) ((randomField.y + 0.5) * tileH);
 
@@ -119,26 +108,13 @@ public class GameMap {
                 for (int y = (int) (0.5 * tileH); y >= 0; y--) {
                     int x_mid = (int) (x0 + x + 0.5 * tileW);
                     int y_mid = (int) (y0 + y + 0.5 * tileH);
-                    if (noiseValues[x_mid][y_mid] >= 0.6) {
-                        String name = possibleNames.isEmpty() ? "Burg " + (castlesGenerated + 1) :
-                            possibleNames.get((int) (Math.random() * possibleNames.size()));
-                        Castle newCastle = new Castle(new Point(x0 + x, y0 + y), name);
-                        boolean doesIntersect = false;
-
-                        for (Castle r : castleGraph.getAllValues()) {
-                            if (r.distance(newCastle) < Math.max(tileW, tileH)) {
-                                doesIntersect = true;
-                                break;
-                            }
-                        }
-
-                        if (!doesIntersect) {
-                            possibleNames.remove(name);
-                            castleGraph.addNode(newCastle);
-                            castlesGenerated++;
-                            positionFound = true;
-                            break;
-                        }
+                    if (Terrain.isCastleGround(getTerrain(x_mid, y_mid)) && !placedCastles.containsWithin(x0 + x, y0 + y, minDistance)) {
+                        String name = possibleNames.isEmpty() ? "Burg " + (castlesGenerated + 1) : removeRandom(possibleNames, random);
+                        Castle newCastle = addCastle(new Point(x0 + x, y0 + y), name);
+                        placedCastles.add(newCastle, x0 + x, y0 + y);
+                        castlesGenerated++;
+                        positionFound = true;
+                        break;
                     }
                 }
 
@@ -149,148 +125,144 @@ public class GameMap {
     }
 
     /**
-     * Hier werden die Kanten erzeugt. Dazu werden zunächst alle Burgen durch eine Linie verbunden und anschließend
-     * jede Burg mit allen anderen in einem bestimmten Radius nochmals verbunden
+     * Fügt eine neue Burg als Knoten zum Graphen hinzu. Ändert sich ihr Besitzer, werden die zwischengespeicherten Pfade verworfen.
+     * @param location die Position der Burg
+     * @param name der Name der Burg
+     * @return die neue Burg
      */
-    private void generateEdges() {
-    	 // TODO: GameMap#generateEdges()
-    	List<Node<Castle>> nodes = castleGraph.getNodes();
-    	
-    	int maxDistance = 0;
-    	if (width == 15) 
-    		maxDistance = 150;
-    	else if (width == 27) 
-    		maxDistance = 200;
-    	else if (width == 48) 
-    		maxDistance = 300;
-    	
-    	for (int i = 0; i < nodes.size(); i++) {
-    		Castle a = nodes.get(i).getValue();
-    		for (int j = i + 1; j < nodes.size() ; j++) {
-    			Castle b = nodes.get(j).getValue();
-    			if ( a.distance(b) < maxDistance && castleGraph.getEdges(nodes.get(i)).size()<3) {
-    				castleGraph.addEdge(nodes.get(i), nodes.get(j));
-    			}
-    		}
-    	}
-    	for (int i = 0; i < nodes.size(); i++) {
-    		if (castleGraph.getEdges(nodes.get(i)).size() == 0) {	
-                    Castle a=nodes.get(i).getValue();
-                    Node<Castle> b=nodes.get(i);
-                    double min= -1;
-                    for (int j=0; j<nodes.size();j++){
-                        if (i !=j){
-                             if (min == -1){
-                             b=nodes.get(j);
-                             min=a.distance(b.getValue());
-                             }
-                             else{
-                                 if (min>a.distance(nodes.get(j).getValue())){
-                                       min=a.distance(nodes.get(j).getValue());
-                                       b=nodes.get(j);
-                        }
-                    }
-                  }
-               }
-	            castleGraph.addEdge(nodes.get(i), b);
-    		}
-    	}
- 
-    	       for (int i=0; i<nodes.size();i++) {
-                    if (castleGraph.getEdges(nodes.get(i)).size() ==1 ) {
-                        Edge<Castle> E1= castleGraph.getEdges(nodes.get(i)).get(0);
-                        Node<Castle> otherNode = E1.getOtherNode(nodes.get(i));
-                        if (castleGraph.getEdges(otherNode).size() ==1) {
-                           Castle a=nodes.get(i).getValue();
-                           Node<Castle> b=nodes.get(i);
-                           double min= -1;
-                           for (int j=0; j<nodes.size();j++){
-                               if (i !=j && nodes.get(j) !=otherNode ){
-                                    if (min == -1){
-                                    b=nodes.get(j);
-                                     min=a.distance(b.getValue());
-                                    }
-                                    else{
-                                        if (min>a.distance(nodes.get(j).getValue()) ){
-                                              min=a.distance(nodes.get(j).getValue());
-                   
-                                              b=nodes.get(j);
-                                        }
-                                    }
-                               }
-                         }
-                   castleGraph.addEdge(nodes.get(i), b);
-                     }
-              }
-   }
-                
-                List<Node<Castle>> res = new ArrayList<Node<Castle>>();
-                List<Edge<Castle>> edgeRes = new ArrayList<Edge<Castle>>();
-                for (int i = 0; i < nodes.size(); i++) {
-                	if (!res.contains(nodes.get(i))) {
-                	boolean boucle=false;
-                	List<Node<Castle>> newRes = new ArrayList<Node<Castle>>();
-            		List<Edge<Castle>> a = castleGraph.getEdges(nodes.get(i));
-            		int prev=0;
-            		while (!boucle) {
-            			prev =newRes.size();
-            		for (Edge<Castle> e : a) {
-            			if (!newRes.contains(e.getNodeA()))
-            				newRes.add(e.getNodeA());
-            			if(!newRes.contains(e.getNodeB()))
-            				newRes.add(e.getNodeB());
-            				}
-            		for (int j=0; j<newRes.size();j++) {
-            			List<Edge<Castle>> b = castleGraph.getEdges(newRes.get(j));
-            			for (Edge<Castle> e1 : b) {
-            				if (!a.contains(e1)) {
-            					a.add(e1);
-            				}
-            			}
-            		}
-            		if ( prev==newRes.size() ) {
-            			boucle=true;
-                	}
-            	}
-            		for (Edge<Castle> e : a )
-            			edgeRes.add(e);
-            		for (Node<Castle> n :newRes)
-            			res.add(n);
-            		if (boucle && newRes.size()<nodes.size()) {
-        		    int randomNum2=ThreadLocalRandom.current().nextInt(0, newRes.size() );
-        		    Castle cas=nodes.get(randomNum2).getValue();
-        		    Node<Castle> b=nodes.get(randomNum2);
-        		    double min= -1;
-        		    for (int k=0; k<nodes.size();k++) {
-        		              if (!newRes.contains(nodes.get(k)) ){
-                                  if (min == -1){
-                                  b=nodes.get(k);
-                                   min=cas.distance(b.getValue());
-                                  }
-                                  else{
-                                      if (min>cas.distance(nodes.get(k).getValue()) ){
-                                            min=cas.distance(nodes.get(k).getValue());
-                 
-                                            b=nodes.get(k);
-                             }
-        		            }
-                          }
-        		             
-                	}
-        		    castleGraph.addEdge(newRes.get(randomNum2), b);
+    Castle addCastle(Point location, String name) {
+        Castle castle = new Castle(location, name);
+        castle.setOwnerListener((changed, oldOwner, newOwner) -> pathCache.invalidate());
+        castleGraph.addNode(castle);
+        return castle;
+    }
+
+    /**
+     * Entfernt ein zufälliges Element aus der Liste. Die Lücke wird mit dem letzten Element gefüllt,
+     * sodass die übrigen Elemente nicht verschoben werden müssen.
+     * @param list die Liste
+     * @param random der Zufallsgenerator
+     * @return das entfernte Element
+     */
+    private static <T> T removeRandom(List<T> list, SplittableRandom random) {
+        int index = random.nextInt(list.size());
+        T element = list.get(index);
+        list.set(index, list.get(list.size() - 1));
+        list.remove(list.size() - 1);
+        return element;
+    }
+
+    /**
+     * Verbindet jede Burg mit ihren nächsten Nachbarn innerhalb eines Radius.
+     * Der Radius ergibt sich aus dem durchschnittlichen Abstand der Burgen, also aus Kartengröße, Skalierung und Anzahl der Burgen,
+     * sodass die Dichte der Verbindungen für jede Kartengröße gleich bleibt. Die Nachbarn werden über ein {@link SpatialGrid} gesucht.
+     * Anschließend werden einzelne Burgen und isolierte Paare mit ihrer nächsten Burg verbunden.
+     * @param nodes die Knoten aller Burgen
+     */
+    private void generateNearestNeighbourEdges(List<Node<Castle>> nodes) {
+        double spacing = Math.sqrt((double) width * scale * height * scale / nodes.size());
+        double maxDistance = EDGE_RADIUS_FACTOR * spacing;
+        SpatialGrid<Node<Castle>> grid = new SpatialGrid<>(width * scale, height * scale, maxDistance);
+        for (Node<Castle> node : nodes) {
+            Point location = node.getValue().getLocationOnMap();
+            grid.add(node, location.x, location.y);
+        }
+
+        // Die Burg selbst ist immer ihr eigener nächster Nachbar und wird übersprungen
+        for (Node<Castle> node : nodes) {
+            Point location = node.getValue().getLocationOnMap();
+            List<Node<Castle>> neighbours = grid.getNearest(location.x, location.y, MAX_NEIGHBOURS + 1, maxDistance);
+            neighbours.remove(node);
+            castleGraph.addEdges(node, neighbours);
+        }
+
+        // Burgen ohne Nachbarn im Radius und Paare, die nur miteinander verbunden sind, erhalten eine Verbindung zur nächsten Burg
+        for (Node<Castle> node : nodes) {
+            List<Edge<Castle>> edges = castleGraph.getEdges(node);
+            Node<Castle> partner = null;
+            if (edges.size() == 1) {
+                partner = edges.get(0).getOtherNode(node);
+                if (castleGraph.getEdges(partner).size() != 1)
+                    continue;
+            } else if (!edges.isEmpty()) {
+                continue;
+            }
+
+            Point location = node.getValue().getLocationOnMap();
+            for (Node<Castle> nearest : grid.getNearest(location.x, location.y, 3, Double.POSITIVE_INFINITY)) {
+                if (nearest != node && nearest != partner) {
+                    castleGraph.addEdge(node, nearest);
+                    break;
                 }
-             }
-          }
-     }
+            }
+        }
+    }
+
+    /**
+     * Verbindet die Burgen entlang der Kanten eines Teilgraphen der Delaunay-Triangulierung ihrer Positionen.
+     * Die Kanten kreuzen sich dabei nicht und der Graph ist bereits zusammenhängend, eine Reparatur ist nicht nötig.
+     * @param nodes die Knoten aller Burgen
+     * @param edgeMode {@link EdgeMode#GABRIEL} oder {@link EdgeMode#RELATIVE_NEIGHBOURHOOD}
+     * @see DelaunayTriangulation
+     */
+    private void generateTriangulationEdges(List<Node<Castle>> nodes, EdgeMode edgeMode) {
+        double[] xs = new double[nodes.size()];
+        double[] ys = new double[nodes.size()];
+        for (Node<Castle> node : nodes) {
+            Point location = node.getValue().getLocationOnMap();
+            xs[node.getId()] = location.x;
+            ys[node.getId()] = location.y;
+        }
 
+        DelaunayTriangulation triangulation = new DelaunayTriangulation(xs, ys);
+        int[] edges = edgeMode == EdgeMode.GABRIEL ? triangulation.getGabrielEdges() : triangulation.getRelativeNeighbourhoodEdges();
+        for (int i = 0; i < edges.length; i += 2)
+            castleGraph.addEdge(nodes.get(edges[i]), nodes.get(edges[i + 1]));
+    }
+
+    /**
+     * Hier werden die Kanten mit dem angegebenen Verfahren erzeugt. Sollte der Graph danach noch aus mehreren Inseln bestehen,
+     * wird jeweils eine Insel mit der nächstgelegenen Burg außerhalb verbunden.
+     * @param edgeMode das Verfahren
+     * @param random der Zufallsgenerator für diesen Schritt
+     */
+    private void generateEdges(EdgeMode edgeMode, SplittableRandom random) {
+        List<Node<Castle>> nodes = castleGraph.getNodes();
+        if (nodes.isEmpty())
+            return;
+
+        if (edgeMode == EdgeMode.NEAREST_NEIGHBOURS)
+            generateNearestNeighbourEdges(nodes);
+        else
+            generateTriangulationEdges(nodes, edgeMode);
+
+        // Inseln mit der nächstgelegenen Burg außerhalb verbinden, bis der Graph zusammenhängend ist
+        while (castleGraph.componentCount() > 1) {
+            List<Node<Castle>> island = castleGraph.components().get(0);
+            Node<Castle> start = island.get(random.nextInt(island.size()));
+            Node<Castle> nearest = null;
+            double min = -1;
+            for (Node<Castle> node : nodes) {
+                if (!castleGraph.areConnected(start, node)) {
+                    double distance = start.getValue().distance(node.getValue());
+                    if (min == -1 || distance < min) {
+                        min = distance;
+                        nearest = node;
+                    }
+                }
+            }
+            castleGraph.addEdge(start, nearest);
+        }
+    }
 
     /**
      * Hier werden die Burgen in Königreiche unterteilt. Dazu wird der {@link Clustering} Algorithmus aufgerufen.
      * @param kingdomCount die Anzahl der zu generierenden Königreiche
+     * @param random der Zufallsgenerator für diesen Schritt
      */
-    private void generateKingdoms(int kingdomCount) {
+    private void generateKingdoms(int kingdomCount, SplittableRandom random) {
         if(kingdomCount > 0 && kingdomCount < castleGraph.getAllValues().size()) {
-            Clustering clustering = new Clustering(castleGraph.getAllValues(), kingdomCount);
+            Clustering clustering = new Clustering(castleGraph.getAllValues(), kingdomCount, new Random(random.nextLong()));
             kingdoms = clustering.getPointsClusters();
         } else {
             kingdoms = new ArrayList<>();
@@ -310,8 +282,41 @@ public class GameMap {
      * @param castleCount die maximale Anzahl an Burgen
      * @param kingdomCount die Anzahl der Königreiche
      * @return eine neue GameMap-Instanz
+     * @see #generateRandomMap(int, int, int, int, int, EdgeMode)
      */
     public static GameMap generateRandomMap(int width, int height, int scale, int castleCount, int kingdomCount) {
+        return generateRandomMap(width, height, scale, castleCount, kingdomCount, EdgeMode.NEAREST_NEIGHBOURS);
+    }
+
+    /**
+     * Eine neue Spielfeldkarte generieren, deren Kanten mit dem angegebenen Verfahren erzeugt werden
+     * @param width die Breite des Spielfelds
+     * @param height die Höhe des Spielfelds
+     * @param scale die Skalierung
+     * @param castleCount die maximale Anzahl an Burgen
+     * @param kingdomCount die Anzahl der Königreiche
+     * @param edgeMode das Verfahren für die Kanten
+     * @return eine neue GameMap-Instanz
+     * @see #generateRandomMap(int, int, int, int, int, EdgeMode, long)
+     */
+    public static GameMap generateRandomMap(int width, int height, int scale, int castleCount, int kingdomCount, EdgeMode edgeMode) {
+        return generateRandomMap(width, height, scale, castleCount, kingdomCount, edgeMode, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Eine neue Spielfeldkarte aus einem Startwert generieren. Jeder Schritt erhält einen eigenen, vom Startwert abgeleiteten
+     * Zufallsgenerator. Dieselben Parameter und derselbe Startwert ergeben damit immer dieselbe Karte,
+     * unabhängig davon, wie viele Zufallszahlen ein einzelner Schritt verbraucht.
+     * @param width die Breite des Spielfelds
+     * @param height die Höhe des Spielfelds
+     * @param scale die Skalierung
+     * @param castleCount die maximale Anzahl an Burgen
+     * @param kingdomCount die Anzahl der Königreiche
+     * @param edgeMode das Verfahren für die Kanten
+     * @param seed der Startwert
+     * @return eine neue GameMap-Instanz
+     */
+    public static GameMap generateRandomMap(int width, int height, int scale, int castleCount, int kingdomCount, EdgeMode edgeMode, long seed) {
 
         width = Math.max(width, 15);
         height = Math.max(height, 10);
@@ -319,14 +324,16 @@ public class GameMap {
         if (scale <= 0 || castleCount <= 0)
             throw new IllegalArgumentException();
 
-        System.out.println(String.format("Generating new map, castles=%d, width=%d, height=%d, kingdoms=%d", castleCount, width, height, kingdomCount));
-        GameMap gameMap = new GameMap(width, height, scale);
-        gameMap.generateBackground();
-        gameMap.generateCastles(castleCount);
-        gameMap.generateEdges();
-        gameMap.generateKingdoms(kingdomCount);
+        System.out.println(String.format("Generating new map, castles=%d, width=%d, height=%d, kingdoms=%d, seed=%d", castleCount, width, height, kingdomCount, seed));
+        GameMap gameMap = new GameMap(width, height, scale, seed);
+        SplittableRandom random = new SplittableRandom(seed);
+        gameMap.generateBackground(random.split().nextLong());
+        gameMap.generateCastles(castleCount, random.split());
+        gameMap.generateEdges(edgeMode, random.split());
+        gameMap.generateKingdoms(kingdomCount, random.split());
 
-        if(!gameMap.getGraph().allNodesConnected()) {
+        // Die Verbindungen ändern sich nach der Generierung nicht mehr, alle weiteren Abfragen nutzen die Momentaufnahme
+        if(!gameMap.getCompactGraph().isConnected()) {
             System.out.println("Fehler bei der Verifikation: Es sind nicht alle Knoten miteinander verbunden!");
             return null;
         }
@@ -337,31 +344,51 @@ public class GameMap {
     /**
      * Generiert eine Liste von Zufallsnamen für Burgen. Dabei wird ein Prefix (Schloss, Burg oder Festung) an einen
      * vorhandenen Namen aus den Resourcen angefügt. Siehe auch: {@link Resources#getcastleNames()}
+     * @param random der Zufallsgenerator
      * @return eine Liste mit Zufallsnamen
      */
-    private List<String> generateCastleNames() {
+    private List<String> generateCastleNames(SplittableRandom random) {
         String[] prefixes = {"Schloss", "Burg", "Festung"};
         List<String> names = Resources.getInstance().getCastleNames();
         List<String> nameList = new ArrayList<>(names.size());
 
         for (String name : names) {
-            String prefix = prefixes[(int) (Math.random() * prefixes.length)];
+            String prefix = prefixes[random.nextInt(prefixes.length)];
             nameList.add(prefix + " " + name);
         }
 
         return nameList;
     }
 
+    /**
+     * Gibt den Startwert zurück, aus dem die Karte generiert wurde
+     * @return der Startwert, siehe {@link #generateRandomMap(int, int, int, int, int, EdgeMode, long)}
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
     public int getWidth() {
-        return this.backgroundImage.getWidth();
+        return this.background.getWidth();
     }
 
     public int getHeight() {
-        return this.backgroundImage.getHeight();
+        return this.background.getHeight();
     }
 
-    public BufferedImage getBackgroundImage() {
-        return this.backgroundImage;
+    /**
+     * Gibt die Geländeart an einer Position der Karte zurück.
+     * Liegt die Kachel im Cache, wird sie aus dieser gelesen, siehe {@link TiledBackground#getTerrain(int, int)}
+     * @param x die X-Koordinate
+     * @param y die Y-Koordinate
+     * @return die Geländeart, siehe {@link Terrain}
+     */
+    public byte getTerrain(int x, int y) {
+        return background.getTerrain(x, y);
+    }
+
+    public TiledBackground getBackground() {
+        return this.background;
     }
 
     public Dimension getSize() {
@@ -376,6 +403,42 @@ public class GameMap {
         return this.castleGraph;
     }
 
+    /**
+     * Gibt die unveränderbare Momentaufnahme des Burg-Graphen zurück. Die Kantengewichte entsprechen der Distanz der Burgen.
+     * @return der Burg-Graph im CSR-Format
+     * @see Graph#freeze()
+     */
+    public CompactGraph<Castle> getCompactGraph() {
+        return this.castleGraph.freeze();
+    }
+
+    /**
+     * Gibt die Distanzmatrix der Burgen zurück. Sie wird beim ersten Aufruf erstellt.
+     * Da ihr Speicherbedarf quadratisch mit der Anzahl der Burgen wächst, ist sie nur für Auswertungen gedacht,
+     * die Wegfindung berechnet die Kantengewichte direkt über {@link Castle#distance(Castle)}.
+     * @return die Distanzmatrix
+     */
+    public synchronized DistanceMatrix getDistanceMatrix() {
+        if(this.distanceMatrix == null)
+            this.distanceMatrix = new DistanceMatrix(this.castleGraph);
+
+        return this.distanceMatrix;
+    }
+
+    /**
+     * Gibt eine Wegfindung für die angegebene Burg, Aktion und den Spieler zurück. Solange sich kein Besitzer einer Burg ändert,
+     * wird dasselbe Objekt wiederverwendet, bereits berechnete Pfade müssen also nicht erneut gesucht werden.
+     * Ändert sich ein Besitzer, wird das Objekt freigegeben und darf nicht mehr verwendet werden.
+     * @param source die Startburg
+     * @param action die aktuelle Aktion
+     * @param player der aktuelle Spieler
+     * @return die Wegfindung
+     * @see PathCache
+     */
+    public PathFinding getPathFinding(Castle source, MapPanel.Action action, Player player) {
+        return this.pathCache.get(source, action, player);
+    }
+
     public List<Edge<Castle>> getEdges() {
         return this.castleGraph.getEdges();
     }
@@ -383,4 +446,28 @@ public class GameMap {
     public List<Kingdom> getKingdoms() {
         return this.kingdoms;
     }
+
+    void setKingdoms(List<Kingdom> kingdoms) {
+        this.kingdoms = kingdoms;
+    }
+
+    /**
+     * Gibt den Startwert des Perlin-Noise zurück, aus dem das Gelände berechnet wird
+     * @return der Startwert
+     */
+    long getNoiseSeed() {
+        return this.noiseSeed;
+    }
+
+    int getScale() {
+        return this.scale;
+    }
+
+    /**
+     * Gibt die Größe der Karte in Feldern zurück, also ohne Skalierung
+     * @return die Größe in Feldern
+     */
+    Dimension getScaledSize() {
+        return new Dimension(this.width, this.height);
+    }
 }
@@ -0,0 +1,228 @@
+package game.map;
+
+import base.CompactGraph;
+import base.Graph;
+import base.Node;
+
+import java.awt.*;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Speichert eine {@link GameMap} in einem kompakten Binärformat und lädt sie wieder, ohne die Karte neu zu generieren.
+ * Alle Zahlen werden in Big-Endian gespeichert, in dieser Reihenfolge:
+ * <ol>
+ *     <li>Kopf: Kennung {@link #MAGIC}, {@link #VERSION}, Breite, Höhe und Skalierung der Karte, Startwert der Karte und des Perlin-Noise</li>
+ *     <li>Burgen: Anzahl, danach je Burg X, Y, Index des Königreichs (-1 für keines), die {@link Terrain Geländeart} an ihrer Position
+ *     als Byte und der Name in UTF-8 mit vorangestellter Länge</li>
+ *     <li>Königreiche: Anzahl, danach je Königreich Typ und Mittelpunkt (-1, -1 falls keiner existiert)</li>
+ *     <li>Kanten im CSR-Format wie in {@link CompactGraph}: Anzahl der Einträge, die Offsets aller Burgen und die Zielburgen</li>
+ * </ol>
+ * Das Gelände wird nicht pixelweise gespeichert, sondern über den Startwert des Perlin-Noise beim Laden identisch neu berechnet,
+ * und zwar wie bei der Generierung erst beim Zeichnen der jeweiligen Kachel.
+ * Ändert sich das Format oder das Verfahren für den Perlin-Noise, muss die {@link #VERSION} erhöht werden.
+ * Damit ein geändertes Verfahren trotzdem auffällt, wird beim Laden die Geländeart an allen Burgen mit der gespeicherten verglichen.
+ */
+public final class MapFile {
+
+    public static final int MAGIC = 0x474F434D; // "GOCM"
+    public static final int VERSION = 2;
+
+    private static final int NO_KINGDOM = -1;
+
+    private MapFile() {
+    }
+
+    /**
+     * Speichert die Karte in der angegebenen Datei. Eine vorhandene Datei wird überschrieben.
+     * Besitzer und Truppen der Burgen gehören zum Spielstand und werden nicht gespeichert.
+     * @param map die Karte
+     * @param path die Datei
+     * @throws IOException falls die Datei nicht geschrieben werden kann
+     */
+    public static void write(GameMap map, Path path) throws IOException {
+        CompactGraph<Castle> graph = map.getCompactGraph();
+        List<Kingdom> kingdoms = map.getKingdoms() != null ? map.getKingdoms() : new ArrayList<>();
+        int castleCount = graph.getNodeCount();
+
+        byte[][] names = new byte[castleCount][];
+        int size = 4 * 5 + 8 * 2 + 4;
+        for (int i = 0; i < castleCount; i++) {
+            names[i] = graph.getNode(i).getValue().getName().getBytes(StandardCharsets.UTF_8);
+            size += 4 * 4 + 1 + names[i].length;
+        }
+
+        size += 4 + kingdoms.size() * 4 * 3;
+        size += 4 + (castleCount + 1) * 4 + graph.getSlotCount() * 4;
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        Dimension scaledSize = map.getScaledSize();
+        buffer.putInt(MAGIC).putInt(VERSION);
+        buffer.putInt(scaledSize.width).putInt(scaledSize.height).putInt(map.getScale());
+        buffer.putLong(map.getSeed()).putLong(map.getNoiseSeed());
+
+        buffer.putInt(castleCount);
+        for (int i = 0; i < castleCount; i++) {
+            Castle castle = graph.getNode(i).getValue();
+            Point location = castle.getLocationOnMap();
+            buffer.putInt(location.x).putInt(location.y).putInt(kingdoms.indexOf(castle.getKingdom()));
+            buffer.put(map.getTerrain(location.x, location.y));
+            buffer.putInt(names[i].length).put(names[i]);
+        }
+
+        buffer.putInt(kingdoms.size());
+        for (Kingdom kingdom : kingdoms) {
+            Point centre = kingdom.getCentre();
+            buffer.putInt(kingdom.getType());
+            buffer.putInt(centre != null ? centre.x : -1).putInt(centre != null ? centre.y : -1);
+        }
+
+        buffer.putInt(graph.getSlotCount());
+        for (int i = 0; i <= castleCount; i++)
+            buffer.putInt(i < castleCount ? graph.getOffset(i) : graph.getSlotCount());
+        for (int slot = 0; slot < graph.getSlotCount(); slot++)
+            buffer.putInt(graph.getTarget(slot));
+
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+        }
+    }
+
+    /**
+     * Lädt eine Karte aus der angegebenen Datei. Die Datei wird dazu in den Speicher abgebildet (memory-mapped),
+     * sodass sie nicht zusätzlich in einen Puffer kopiert werden muss.
+     * @param path die Datei
+     * @return die geladene Karte
+     * @throws IOException falls die Datei nicht gelesen werden kann, keine Kartendatei ist, beschädigt ist
+     *         oder das Gelände nicht mit dem gespeicherten übereinstimmt
+     */
+    public static GameMap read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return read(buffer);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Die Kartendatei ist beschädigt: " + path, e);
+        }
+    }
+
+    private static GameMap read(ByteBuffer buffer) throws IOException {
+        if (buffer.getInt() != MAGIC)
+            throw new IOException("Keine Kartendatei");
+
+        int version = buffer.getInt();
+        if (version != VERSION)
+            throw new IOException(String.format("Nicht unterstützte Version der Kartendatei: %d (erwartet %d)", version, VERSION));
+
+        int width = buffer.getInt();
+        int height = buffer.getInt();
+        int scale = buffer.getInt();
+        long seed = buffer.getLong();
+        long noiseSeed = buffer.getLong();
+        if (width <= 0 || height <= 0 || scale <= 0)
+            throw new IllegalArgumentException("Ungültige Größe");
+
+        GameMap map = new GameMap(width, height, scale, seed);
+        map.generateBackground(noiseSeed);
+
+        int castleCount = readCount(buffer);
+        List<Castle> castles = new ArrayList<>(castleCount);
+        int[] kingdomIndices = new int[castleCount];
+        for (int i = 0; i < castleCount; i++) {
+            Point location = new Point(buffer.getInt(), buffer.getInt());
+            kingdomIndices[i] = buffer.getInt();
+            if (buffer.get() != map.getTerrain(location.x, location.y))
+                throw new IOException("Das Gelände passt nicht zur Kartendatei, das Verfahren für den Perlin-Noise wurde geändert");
+
+            byte[] name = new byte[readCount(buffer)];
+            buffer.get(name);
+            castles.add(map.addCastle(location, new String(name, StandardCharsets.UTF_8)));
+        }
+
+        int kingdomCount = readCount(buffer);
+        List<Kingdom> kingdoms = new ArrayList<>(kingdomCount);
+        for (int i = 0; i < kingdomCount; i++) {
+            Kingdom kingdom = new Kingdom(buffer.getInt());
+            int x = buffer.getInt(), y = buffer.getInt();
+            if (x != -1 || y != -1)
+                kingdom.setCentre(new Point(x, y));
+            kingdoms.add(kingdom);
+        }
+
+        for (int i = 0; i < castleCount; i++) {
+            if (kingdomIndices[i] < NO_KINGDOM || kingdomIndices[i] >= kingdomCount)
+                throw new IllegalArgumentException("Ungültiges Königreich");
+            if (kingdomIndices[i] != NO_KINGDOM)
+                castles.get(i).setKingdom(kingdoms.get(kingdomIndices[i]));
+        }
+
+        map.setKingdoms(kingdoms);
+        readEdges(buffer, map.getGraph(), castleCount);
+        return map;
+    }
+
+    /**
+     * Liest die Kanten im CSR-Format. Jede ungerichtete Kante muss darin genau zweimal enthalten sein, einmal in jeder Richtung,
+     * und wird nur für die Richtung zur Burg mit dem größeren Index hinzugefügt.
+     */
+    private static void readEdges(ByteBuffer buffer, Graph<Castle> graph, int castleCount) {
+        int slotCount = readCount(buffer);
+        int[] offsets = new int[castleCount + 1];
+        for (int i = 0; i <= castleCount; i++) {
+            offsets[i] = buffer.getInt();
+            if (i > 0 && offsets[i] < offsets[i - 1])
+                throw new IllegalArgumentException("Ungültige Kanten");
+        }
+
+        if (offsets[0] != 0 || offsets[castleCount] != slotCount)
+            throw new IllegalArgumentException("Ungültige Kanten");
+
+        int[] targets = new int[slotCount];
+        for (int i = 0; i < castleCount; i++) {
+            for (int slot = offsets[i]; slot < offsets[i + 1]; slot++) {
+                targets[slot] = buffer.getInt();
+                if (targets[slot] < 0 || targets[slot] >= castleCount || targets[slot] == i)
+                    throw new IllegalArgumentException("Ungültige Kanten");
+            }
+        }
+
+        // Sortiert pro Burg, damit doppelte Einträge auffallen und die Gegenrichtung binär gesucht werden kann
+        int[] sorted = targets.clone();
+        for (int i = 0; i < castleCount; i++) {
+            Arrays.sort(sorted, offsets[i], offsets[i + 1]);
+            for (int slot = offsets[i] + 1; slot < offsets[i + 1]; slot++) {
+                if (sorted[slot] == sorted[slot - 1])
+                    throw new IllegalArgumentException("Doppelte Kante");
+            }
+        }
+
+        List<Node<Castle>> nodes = graph.getNodes();
+        for (int i = 0; i < castleCount; i++) {
+            for (int slot = offsets[i]; slot < offsets[i + 1]; slot++) {
+                int target = targets[slot];
+                if (Arrays.binarySearch(sorted, offsets[target], offsets[target + 1], i) < 0)
+                    throw new IllegalArgumentException("Kante ohne Gegenrichtung");
+                if (target > i)
+                    graph.addEdge(nodes.get(i), nodes.get(target));
+            }
+        }
+    }
+
+    private static int readCount(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining())
+            throw new IllegalArgumentException("Ungültige Anzahl");
+
+        return count;
+    }
+}
@@ -0,0 +1,11 @@
+package game.map;
+
+import game.Player;
+
+/**
+ * Wird benachrichtigt, wenn sich der Besitzer einer Burg ändert
+ */
+public interface OwnerListener {
+
+    void ownerChanged(Castle castle, Player oldOwner, Player newOwner);
+}
@@ -0,0 +1,77 @@
+package game.map;
+
+import game.Player;
+import gui.components.MapPanel;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dieser Cache speichert {@link PathFinding}-Objekte für eine Kombination aus Startburg, Aktion und Spieler.
+ * Da die Passierbarkeit nur von den Besitzern der Burgen abhängt, bleiben die Ergebnisse gültig, bis sich ein Besitzer ändert.
+ * Dann wird der Cache über {@link #invalidate()} geleert. Eine zurückgegebene Wegfindung darf daher nur bis zur nächsten
+ * Änderung eines Besitzers verwendet werden und sollte danach erneut über {@link #get(Castle, MapPanel.Action, Player)} abgefragt werden.
+ */
+public class PathCache {
+
+    private static final class Key {
+
+        private final Castle source;
+        private final MapPanel.Action action;
+        private final Player player;
+
+        private Key(Castle source, MapPanel.Action action, Player player) {
+            this.source = source;
+            this.action = action;
+            this.player = player;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if(!(o instanceof Key))
+                return false;
+
+            Key other = (Key) o;
+            return source == other.source && action == other.action && player == other.player;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * System.identityHashCode(source) + action.hashCode()) + System.identityHashCode(player);
+        }
+    }
+
+    private final GameMap map;
+    private final Map<Key, PathFinding> entries;
+
+    /**
+     * Erstellt einen neuen, leeren Cache
+     * @param map die Karte, auf der gesucht wird
+     */
+    PathCache(GameMap map) {
+        this.map = map;
+        this.entries = new HashMap<>();
+    }
+
+    /**
+     * Gibt die Wegfindung für die angegebene Kombination zurück oder erzeugt eine neue.
+     * Die Suche wird dabei nicht gestartet, sie wird erst bei den Abfragen so weit wie nötig ausgeführt.
+     * @param source die Startburg
+     * @param action die aktuelle Aktion
+     * @param player der aktuelle Spieler
+     * @return die Wegfindung
+     */
+    public synchronized PathFinding get(Castle source, MapPanel.Action action, Player player) {
+        return entries.computeIfAbsent(new Key(source, action, player), key -> new PathFinding(map, source, action, player));
+    }
+
+    /**
+     * Entfernt alle gespeicherten Ergebnisse und gibt den Arbeitsspeicher der Wegfindungen frei, siehe {@link PathFinding#release()}
+     */
+    public synchronized void invalidate() {
+        for(PathFinding pathFinding : entries.values())
+            pathFinding.release();
+
+        entries.clear();
+    }
+}
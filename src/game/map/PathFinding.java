@@ -8,6 +8,8 @@ import game.Player;
 import game.map.Castle;
 import gui.components.MapPanel;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 public class PathFinding extends GraphAlgorithm<Castle> {
@@ -21,11 +23,26 @@ public class PathFinding extends GraphAlgorithm<Castle> {
         this.currentPlayer = currentPlayer;
     }
 
+    /**
+     * Erstellt eine neue Wegfindung auf der angegebenen Karte
+     * @param map die Karte
+     * @param sourceCastle die Startburg
+     * @param action die aktuelle Aktion
+     * @param currentPlayer der aktuelle Spieler
+     */
+    public PathFinding(GameMap map, Castle sourceCastle, MapPanel.Action action, Player currentPlayer) {
+        this(map.getGraph(), sourceCastle, action, currentPlayer);
+    }
+
     @Override
     protected double getValue(Edge<Castle> edge) {
-        Castle castleA = edge.getNodeA().getValue();
-        Castle castleB = edge.getNodeB().getValue();
-        return castleA.distance(castleB);
+        return edge.getNodeA().getValue().distance(edge.getNodeB().getValue());
+    }
+
+    @Override
+    protected double estimate(Node<Castle> node, Node<Castle> destination) {
+        // Die Luftlinie ist nie länger als ein Pfad, da die Kantengewichte ebenfalls Luftlinien sind
+        return node.getValue().distance(destination.getValue());
     }
 
     @Override
@@ -59,7 +76,59 @@ public class PathFinding extends GraphAlgorithm<Castle> {
         return node.getValue().getOwner() == currentPlayer;
     }
 
+    /**
+     * Gibt den Pfad zu der angegebenen Burg zurück. Die Suche wird nur so weit fortgesetzt, bis die Burg erreicht ist.
+     * @param targetCastle die Zielburg
+     * @return eine Liste von Kanten oder null, falls kein Pfad existiert
+     * @see #findPath(Node)
+     */
     public List<Edge<Castle>> getPath(Castle targetCastle) {
-        return this.getPath(getGraph().getNode(targetCastle));
+        return this.findPath(getGraph().getNode(targetCastle));
+    }
+
+    /**
+     * Gibt die k kürzesten Pfade zu der angegebenen Burg zurück, um alternative Routen vergleichen zu können
+     * @param targetCastle die Zielburg
+     * @param k die maximale Anzahl an Pfaden
+     * @return die Pfade aufsteigend nach ihrer Länge, höchstens k Stück
+     * @see #findKShortestPaths(Node, int)
+     */
+    public List<List<Edge<Castle>>> getPaths(Castle targetCastle, int k) {
+        return this.findKShortestPaths(getGraph().getNode(targetCastle), k);
+    }
+
+    /**
+     * Gibt den kürzesten Pfad zu der angegebenen Burg zurück, der über höchstens maxHops Kanten führt
+     * @param targetCastle die Zielburg
+     * @param maxHops die maximale Anzahl an Kanten
+     * @return eine Liste von Kanten oder null, falls kein solcher Pfad existiert
+     * @see #findPathWithinHops(Node, int)
+     */
+    public List<Edge<Castle>> getPathWithinHops(Castle targetCastle, int maxHops) {
+        return this.findPathWithinHops(getGraph().getNode(targetCastle), maxHops);
+    }
+
+    /**
+     * Gibt alle Burgen zurück, die von der Startburg aus erreichbar sind
+     * @return eine Liste der erreichbaren Burgen
+     * @see #getReachableNodes()
+     */
+    public List<Castle> getReachableCastles() {
+        BitSet reachable = getReachableNodes();
+        List<Node<Castle>> nodes = getGraph().getNodes();
+        List<Castle> castles = new ArrayList<>(reachable.cardinality());
+        for(int id = reachable.nextSetBit(0); id >= 0; id = reachable.nextSetBit(id + 1))
+            castles.add(nodes.get(id).getValue());
+
+        return castles;
+    }
+
+    /**
+     * Gibt an, ob die angegebene Burg von der Startburg aus erreichbar ist
+     * @param targetCastle die Zielburg
+     * @return true, wenn ein Pfad existiert
+     */
+    public boolean isReachable(Castle targetCastle) {
+        return getPath(targetCastle) != null;
     }
 }
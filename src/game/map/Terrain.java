@@ -0,0 +1,87 @@
+package game.map;
+
+import game.GameConstants;
+
+import java.awt.*;
+import java.awt.image.IndexColorModel;
+
+/**
+ * Die Geländearten der Karte. Ein Noise-Wert wird anhand fester Schwellwerte einer Geländeart zugeordnet,
+ * die als byte gespeichert wird. Ein Feld von Geländearten benötigt damit nur ein Byte pro Pixel.
+ * Grasland ab einem Noise-Wert von 0.6 wird als Hochland geführt, nur dort werden Burgen platziert.
+ */
+public final class Terrain {
+
+    public static final byte WATER = 0;
+    public static final byte SAND = 1;
+    public static final byte GRASS = 2;
+    public static final byte HIGHLAND = 3;
+    public static final byte STONE = 4;
+    public static final byte SNOW = 5;
+
+    private static final Color[] COLORS = {
+        GameConstants.COLOR_WATER,
+        GameConstants.COLOR_SAND,
+        GameConstants.COLOR_GRASS,
+        GameConstants.COLOR_GRASS,
+        GameConstants.COLOR_STONE,
+        GameConstants.COLOR_SNOW
+    };
+
+    private Terrain() {
+    }
+
+    /**
+     * Ordnet einen Noise-Wert einer Geländeart zu. Die Schwellwerte können nach belieben angepasst werden.
+     * @param value der Perlin-Noise-Wert
+     * @return die Geländeart
+     */
+    public static byte classify(double value) {
+        if (value <= 0.4)
+            return WATER;
+        else if (value <= 0.5)
+            return SAND;
+        else if (value < 0.6)
+            return GRASS;
+        else if (value <= 0.7)
+            return HIGHLAND;
+        else if (value <= 0.8)
+            return STONE;
+        else
+            return SNOW;
+    }
+
+    /**
+     * Gibt an, ob auf der Geländeart eine Burg platziert werden darf
+     * @param terrain die Geländeart
+     * @return true, wenn die Geländeart mindestens Hochland ist
+     */
+    public static boolean isCastleGround(byte terrain) {
+        return terrain >= HIGHLAND;
+    }
+
+    /**
+     * Gibt die Farbe einer Geländeart zurück
+     * @param terrain die Geländeart
+     * @return die Farbe
+     */
+    public static Color getColor(byte terrain) {
+        return COLORS[terrain];
+    }
+
+    /**
+     * Erstellt eine Farbpalette, deren Index der Geländeart entspricht. Ein Bild vom Typ
+     * {@link java.awt.image.BufferedImage#TYPE_BYTE_INDEXED} mit dieser Palette speichert die Geländearten direkt als Pixel.
+     * @return die Farbpalette
+     */
+    static IndexColorModel createColorModel() {
+        byte[] r = new byte[COLORS.length], g = new byte[COLORS.length], b = new byte[COLORS.length];
+        for (int i = 0; i < COLORS.length; i++) {
+            r[i] = (byte) COLORS[i].getRed();
+            g[i] = (byte) COLORS[i].getGreen();
+            b[i] = (byte) COLORS[i].getBlue();
+        }
+
+        return new IndexColorModel(8, COLORS.length, r, g, b);
+    }
+}
@@ -0,0 +1,158 @@
+package game.map;
+
+import base.PerlinNoise;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.IndexColorModel;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Das Hintergrundbild einer Karte, aufgeteilt in quadratische Kacheln. Eine Kachel wird erst berechnet, wenn sie gezeichnet wird,
+ * und anschließend in einem Cache gehalten, der die am längsten nicht verwendeten Kacheln verwirft (LRU).
+ * Eine Kachel speichert pro Pixel nur die {@link Terrain Geländeart} als Byte, die Farben stammen aus einer Palette.
+ * Die Größe des Caches richtet sich nach der Anzahl der gleichzeitig sichtbaren Kacheln,
+ * der Speicherbedarf hängt also von der Größe des Bildschirms und nicht von der Größe der Karte ab.
+ */
+public class TiledBackground {
+
+    public static final int TILE_SIZE = 256;
+    private static final int MIN_CACHED_TILES = 32;
+
+    private static final IndexColorModel COLOR_MODEL = Terrain.createColorModel();
+
+    private final PerlinNoise perlinNoise;
+    private final int width;
+    private final int height;
+    private final int columns;
+    private final int rows;
+
+    private int maxCachedTiles;
+    private final Map<Integer, BufferedImage> tiles;
+
+    /**
+     * Erstellt einen neuen Hintergrund. Dabei werden noch keine Kacheln berechnet.
+     * @param perlinNoise der Noise, aus dem die Farben berechnet werden
+     */
+    TiledBackground(PerlinNoise perlinNoise) {
+        Dimension realSize = perlinNoise.getRealSize();
+        this.perlinNoise = perlinNoise;
+        this.width = realSize.width;
+        this.height = realSize.height;
+        this.columns = (width + TILE_SIZE - 1) / TILE_SIZE;
+        this.rows = (height + TILE_SIZE - 1) / TILE_SIZE;
+        this.maxCachedTiles = MIN_CACHED_TILES;
+
+        // In Zugriffsreihenfolge, sodass die erste Kachel die am längsten nicht verwendete ist
+        this.tiles = new LinkedHashMap<Integer, BufferedImage>(MIN_CACHED_TILES, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, BufferedImage> eldest) {
+                return size() > maxCachedTiles;
+            }
+        };
+    }
+
+    /**
+     * Gibt die Kachel an der angegebenen Position zurück und berechnet sie, falls sie nicht im Cache liegt
+     * @param column die Spalte der Kachel
+     * @param row die Zeile der Kachel
+     * @return die Kachel, am rechten und unteren Rand gegebenenfalls kleiner als {@link #TILE_SIZE}.
+     *         Die Pixel der Kachel sind die Geländearten
+     */
+    public synchronized BufferedImage getTile(int column, int row) {
+        int key = row * columns + column;
+        BufferedImage tile = tiles.get(key);
+        if (tile == null) {
+            tile = renderTile(column, row);
+            tiles.put(key, tile);
+        }
+
+        return tile;
+    }
+
+    /**
+     * Gibt die Geländeart eines Pixels zurück. Liegt die Kachel im Cache, wird die Geländeart aus ihr gelesen.
+     * Andernfalls wird nur dieser eine Pixel berechnet und die Kachel nicht erzeugt, da das Berechnen einer ganzen Kachel
+     * für einzelne Abfragen wie bei der Platzierung der Burgen deutlich teurer ist und den Cache verdrängen würde.
+     * Beide Wege liefern dasselbe Ergebnis, da {@link PerlinNoise#getNoiseRow(int, int, int, double[])} identisch zu
+     * {@link PerlinNoise#getNoise(double, double)} rechnet.
+     * @param x die X-Koordinate
+     * @param y die Y-Koordinate
+     * @return die Geländeart, {@link Terrain#WATER} außerhalb der Karte
+     */
+    public byte getTerrain(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height)
+            return Terrain.WATER;
+
+        BufferedImage tile;
+        synchronized (this) {
+            tile = tiles.get((y / TILE_SIZE) * columns + x / TILE_SIZE);
+        }
+
+        if (tile == null)
+            return Terrain.classify(perlinNoise.getNoise(x, y));
+
+        byte[] terrain = ((DataBufferByte) tile.getRaster().getDataBuffer()).getData();
+        return terrain[(y % TILE_SIZE) * tile.getWidth() + x % TILE_SIZE];
+    }
+
+    private BufferedImage renderTile(int column, int row) {
+        int x0 = column * TILE_SIZE, y0 = row * TILE_SIZE;
+        int tileWidth = Math.min(TILE_SIZE, width - x0);
+        int tileHeight = Math.min(TILE_SIZE, height - y0);
+
+        // Die Pixel der Kachel sind direkt die Geländearten, zeilenweise in einem byte[]
+        BufferedImage tile = new BufferedImage(tileWidth, tileHeight, BufferedImage.TYPE_BYTE_INDEXED, COLOR_MODEL);
+        byte[] terrain = ((DataBufferByte) tile.getRaster().getDataBuffer()).getData();
+        double[] noiseRow = new double[tileWidth];
+        for (int y = 0; y < tileHeight; y++) {
+            perlinNoise.getNoiseRow(y0 + y, x0, x0 + tileWidth, noiseRow);
+            for (int x = 0; x < tileWidth; x++)
+                terrain[y * tileWidth + x] = Terrain.classify(noiseRow[x]);
+        }
+
+        return tile;
+    }
+
+    /**
+     * Zeichnet alle Kacheln, die im angegebenen Ausschnitt der Karte liegen.
+     * Der Cache wird dabei so vergrößert, dass alle sichtbaren Kacheln darin Platz haben.
+     * @param g das Grafik-Objekt
+     * @param offset die Position der linken oberen Ecke der Karte im Grafik-Objekt
+     * @param visible der sichtbare Ausschnitt in Kartenkoordinaten
+     */
+    public void paint(Graphics g, Point offset, Rectangle visible) {
+        int minColumn = Math.max(0, visible.x / TILE_SIZE);
+        int minRow = Math.max(0, visible.y / TILE_SIZE);
+        int maxColumn = Math.min(columns - 1, (visible.x + visible.width - 1) / TILE_SIZE);
+        int maxRow = Math.min(rows - 1, (visible.y + visible.height - 1) / TILE_SIZE);
+
+        synchronized (this) {
+            int visibleTiles = (maxColumn - minColumn + 1) * (maxRow - minRow + 1);
+            maxCachedTiles = Math.max(maxCachedTiles, 2 * visibleTiles);
+        }
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++)
+                g.drawImage(getTile(column, row), offset.x + column * TILE_SIZE, offset.y + row * TILE_SIZE, null);
+        }
+    }
+
+    /**
+     * Gibt die Anzahl der Kacheln im Cache zurück
+     * @return die Anzahl der Kacheln
+     */
+    public synchronized int getCachedTileCount() {
+        return tiles.size();
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
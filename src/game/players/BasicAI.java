@@ -5,12 +5,14 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import base.CompactGraph;
 import base.Edge;
 import base.Graph;
 import base.Node;
 import game.AI;
 import game.Game;
 import game.map.Castle;
+import game.map.FrontLine;
 import gui.AttackThread;
 
 public class BasicAI extends AI {
@@ -45,11 +47,12 @@ public class BasicAI extends AI {
 
             // 1. Distribute remaining troops
             Graph<Castle> graph = game.getMap().getGraph();
+            CompactGraph<Castle> compactGraph = game.getMap().getCompactGraph();
             List<Castle> castleNearEnemy = new ArrayList<>();
             for(Castle castle : this.getCastles(game)) {
-                Node<Castle> node = graph.getNode(castle);
-                for(Edge<Castle> edge : graph.getEdges(node)) {
-                    Castle otherCastle = edge.getOtherNode(node).getValue();
+                int id = graph.getNode(castle).getId();
+                for(int slot = compactGraph.getOffset(id); slot < compactGraph.getEnd(id); slot++) {
+                    Castle otherCastle = compactGraph.getNode(compactGraph.getTarget(slot)).getValue();
                     if(otherCastle.getOwner() != this) {
                         castleNearEnemy.add(castle);
                         break;
@@ -66,13 +69,18 @@ public class BasicAI extends AI {
             boolean attackWon;
 
             do {
-                // 2. Move troops from inside to border
+                // 2. Move troops from inside to the nearest border castle
+                FrontLine frontLine = new FrontLine(game.getMap(), this);
                 for (Castle castle : this.getCastles(game)) {
                     if (!castleNearEnemy.contains(castle) && castle.getTroopCount() > 1) {
-                        Castle fewestTroops = getCastleWithFewestTroops(castleNearEnemy);
-                        game.moveTroops(castle, fewestTroops, castle.getTroopCount() - 1);
+                        Castle target = frontLine.getNearestFrontCastle(castle);
+                        if(target == null)
+                            target = getCastleWithFewestTroops(castleNearEnemy);
+
+                        game.moveTroops(castle, target, castle.getTroopCount() - 1);
                     }
                 }
+                frontLine.release();
 
                 // 3. attack!
                 attackWon = false;
@@ -41,7 +41,9 @@ public class MapPanel extends JScrollPane {
     private Resources resources;
     private Game game;
     private Action currentAction;
-    private PathFinding pathFinding;
+    // Die erreichbaren Burgen der Wegfindung reachableFor, damit sie nicht bei jedem Zeichnen neu bestimmt werden
+    private PathFinding reachableFor;
+    private List<Castle> reachableCastles;
     private List<Edge<Castle>> highlightedEdges;
     private Castle targetCastle;
 
@@ -64,6 +66,7 @@ public class MapPanel extends JScrollPane {
                     currentAction = Action.NONE;
                     targetCastle = null;
                     highlightedEdges = null;
+                    clearReachableCastles();
                     repaint();
                 } else if(selectedCastle != null) {
                     selectedCastle = null;
@@ -151,7 +154,6 @@ public class MapPanel extends JScrollPane {
                 Point mousePos = cursorToMapLocation(e.getPoint());
                 Player currentPlayer = game.getCurrentPlayer();
                 boolean selectNew = true;
-                Action lastAction = currentAction;
 
                 if (selectedCastle != null && canPerformAction()) {
                     Point castlePos = selectedCastle.getLocationOnMap();
@@ -188,11 +190,6 @@ public class MapPanel extends JScrollPane {
                     }
 
                     if(currentAction != Action.NONE) {
-                        if(lastAction != currentAction) {
-                            pathFinding = new PathFinding(game.getMap().getGraph(), selectedCastle, currentAction, currentPlayer);
-                            pathFinding.run();
-                        }
-
                         setCursor(Cursor.getPredefinedCursor(Cursor.CROSSHAIR_CURSOR));
                     }
                 }
@@ -203,7 +200,7 @@ public class MapPanel extends JScrollPane {
                         currentAction = Action.NONE;
                         selectedCastle = nextCastle;
                         setCursor(Cursor.getDefaultCursor());
-                    } else if(currentAction == Action.MOVING && pathFinding.getPath(nextCastle) != null) {
+                    } else if(currentAction == Action.MOVING && getPathFinding().isReachable(nextCastle)) {
                         NumberDialog nd = new NumberDialog("Wie viele Truppen möchtest du verschieben?", 1, selectedCastle.getTroopCount() - 1, 1);
                         if(nd.showDialog(MapPanel.this)) {
                             selectedCastle.moveTroops(nextCastle, nd.getValue());
@@ -214,7 +211,7 @@ public class MapPanel extends JScrollPane {
                             setCursor(Cursor.getDefaultCursor());
                             gameView.updateStats();
                         }
-                    } else if(currentAction == Action.ATTACKING && pathFinding.getPath(nextCastle) != null && nextCastle.getOwner() != selectedCastle.getOwner()) {
+                    } else if(currentAction == Action.ATTACKING && getPathFinding().isReachable(nextCastle) && nextCastle.getOwner() != selectedCastle.getOwner()) {
                         NumberDialog nd = new NumberDialog("Mit wie vielen Truppen möchtest du angreifen?", 1, selectedCastle.getTroopCount(), selectedCastle.getTroopCount()  - 1);
                         if(nd.showDialog(MapPanel.this)) {
                             game.startAttack(selectedCastle, nextCastle, nd.getValue());
@@ -227,6 +224,9 @@ public class MapPanel extends JScrollPane {
                     }
                 }
 
+                if(currentAction == Action.NONE)
+                    clearReachableCastles();
+
                 repaint();
             }
         }
@@ -265,7 +265,7 @@ public class MapPanel extends JScrollPane {
                     targetCastle = getRegion(mousePos);
                     if(targetCastle != null) {
                         if(currentAction != Action.ATTACKING || targetCastle.getOwner() != selectedCastle.getOwner()) {
-                            highlightedEdges = pathFinding.getPath(targetCastle);
+                            highlightedEdges = getPathFinding().getPath(targetCastle);
                             repaint();
                         } else {
                             targetCastle = null;
@@ -288,6 +288,37 @@ public class MapPanel extends JScrollPane {
         }
     };
 
+    /**
+     * Gibt die Wegfindung für die ausgewählte Burg und die aktuelle Aktion zurück. Sie wird bei jeder Verwendung aus dem Cache
+     * der Karte geholt, da dieser seine Wegfindungen freigibt, sobald sich ein Besitzer ändert.
+     * @return die Wegfindung
+     * @see GameMap#getPathFinding(Castle, Action, Player)
+     */
+    private PathFinding getPathFinding() {
+        return game.getMap().getPathFinding(selectedCastle, currentAction, game.getCurrentPlayer());
+    }
+
+    /**
+     * Gibt die Burgen zurück, die mit der aktuellen Aktion von der ausgewählten Burg aus erreichbar sind.
+     * Das Ergebnis wird zwischengespeichert, bis sich die Wegfindung ändert, also bis eine andere Burg oder Aktion ausgewählt wird
+     * oder sich ein Besitzer ändert.
+     * @return die erreichbaren Burgen
+     */
+    private List<Castle> getReachableCastles() {
+        PathFinding pathFinding = getPathFinding();
+        if(pathFinding != reachableFor) {
+            reachableCastles = pathFinding.getReachableCastles();
+            reachableFor = pathFinding;
+        }
+
+        return reachableCastles;
+    }
+
+    private void clearReachableCastles() {
+        reachableFor = null;
+        reachableCastles = null;
+    }
+
     private boolean canChooseCastle() {
         if (selectedCastle == null)
             return false;
@@ -343,11 +374,11 @@ public class MapPanel extends JScrollPane {
         int offsetX = 0;
         int offsetY = 0;
 
-        if (getSize().getWidth() > map.getBackgroundImage().getWidth())
-            offsetX = (int) ((getSize().getWidth() - map.getBackgroundImage().getWidth()) / 2);
+        if (getSize().getWidth() > map.getWidth())
+            offsetX = (int) ((getSize().getWidth() - map.getWidth()) / 2);
 
-        if (getSize().getHeight() > map.getBackgroundImage().getHeight())
-            offsetY = (int) ((getSize().getHeight() - map.getBackgroundImage().getHeight()) / 2);
+        if (getSize().getHeight() > map.getHeight())
+            offsetY = (int) ((getSize().getHeight() - map.getHeight()) / 2);
 
         return new Point(p.x + offsetX, p.y + offsetY);
     }
@@ -356,11 +387,11 @@ public class MapPanel extends JScrollPane {
         int offsetX = 0;
         int offsetY = 0;
 
-        if (getSize().getWidth() > map.getBackgroundImage().getWidth())
-            offsetX = (int) ((getSize().getWidth() - map.getBackgroundImage().getWidth()) / 2);
+        if (getSize().getWidth() > map.getWidth())
+            offsetX = (int) ((getSize().getWidth() - map.getWidth()) / 2);
 
-        if (getSize().getHeight() > map.getBackgroundImage().getHeight())
-            offsetY = (int) ((getSize().getHeight() - map.getBackgroundImage().getHeight()) / 2);
+        if (getSize().getHeight() > map.getHeight())
+            offsetY = (int) ((getSize().getHeight() - map.getHeight()) / 2);
 
         JViewport jp = this.getViewport();
         return new Point(p.x - offsetX + jp.getViewPosition().x, p.y - offsetY + jp.getViewPosition().y);
@@ -387,7 +418,13 @@ public class MapPanel extends JScrollPane {
             Point offset = translate(new Point(0, 0));
 
             if (map != null) {
-                g.drawImage(map.getBackgroundImage(), offset.x, offset.y, null);
+                // Nur die Kacheln im sichtbaren Bereich zeichnen
+                Rectangle visible = g.getClipBounds();
+                if (visible == null)
+                    visible = new Rectangle(0, 0, getWidth(), getHeight());
+
+                visible.translate(-offset.x, -offset.y);
+                map.getBackground().paint(g, offset, visible);
 
                 if (showConnections) {
                     for (Edge<Castle> edge : map.getEdges()) {
@@ -407,6 +444,18 @@ public class MapPanel extends JScrollPane {
                     }
                 }
 
+                // Shade all valid targets of the current action
+                if (currentAction != Action.NONE && selectedCastle != null && canPerformAction()) {
+                    g.setColor(new Color(255, 255, 255, 90));
+                    for (Castle reachable : getReachableCastles()) {
+                        if (currentAction == Action.ATTACKING && reachable.getOwner() == selectedCastle.getOwner())
+                            continue;
+
+                        Point location = translate(reachable.getLocationOnMap());
+                        g.fillOval(location.x - 5, location.y - 5, CASTLE_SIZE + 10, CASTLE_SIZE + 10);
+                    }
+                }
+
                 for (Castle region : map.getCastles()) {
                     Color color = region.getOwner() == null ? Color.WHITE : region.getOwner().getColor();
                     Point location = translate(region.getLocationOnMap());
@@ -517,6 +566,7 @@ public class MapPanel extends JScrollPane {
 
     public void clearSelection() {
         this.selectedCastle = null;
+        clearReachableCastles();
         repaint();
     }
 
@@ -525,6 +575,7 @@ public class MapPanel extends JScrollPane {
         selectedCastle = null;
         highlightedEdges = null;
         targetCastle = null;
+        clearReachableCastles();
         setCursor(Cursor.getDefaultCursor());
         repaint();
     }
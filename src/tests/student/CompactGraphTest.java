@@ -0,0 +1,96 @@
+package tests.student;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import base.*;
+
+import java.awt.Point;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+public class CompactGraphTest {
+
+	/**
+	 * Erzeugt einen zufälligen Graphen mit euklidischen Kantengewichten. Ist disconnected gesetzt, werden die Knoten in zwei
+	 * nicht verbundene Hälften geteilt und einige Knoten bleiben ganz ohne Kanten.
+	 */
+	private static Graph<Point> createRandomGraph(Random random, int nodeCount, boolean disconnected) {
+		Graph<Point> graph = new Graph<>((a, b) -> a.distance(b));
+		List<Node<Point>> nodes = new ArrayList<>();
+		for (int i = 0; i < nodeCount; i++)
+			nodes.add(graph.addNode(new Point(random.nextInt(1000), random.nextInt(1000))));
+
+		int half = nodeCount / 2;
+		for (int i = 0; i < nodeCount; i++) {
+			if (disconnected && i % 10 == 0)
+				continue;
+
+			for (int j = 0; j < 3; j++) {
+				int other = random.nextInt(nodeCount);
+				if (other == i || (disconnected && (other % 10 == 0 || (i < half) != (other < half))))
+					continue;
+
+				graph.addEdge(nodes.get(i), nodes.get(other));
+			}
+		}
+
+		return graph;
+	}
+
+	private static void check(CompactGraph<Point> compact) {
+		int nodeCount = compact.getNodeCount();
+		double[] expected = new double[nodeCount * nodeCount];
+		for (int source = 0; source < nodeCount; source++)
+			compact.shortestDistances(source, expected, source * nodeCount);
+
+		for (int parallelism : new int[] {1, 2, 4}) {
+			ForkJoinPool pool = new ForkJoinPool(parallelism);
+			try {
+				assertTrue(Arrays.equals(expected, compact.allPairsDistances(pool)), "Abweichung bei " + parallelism + " Threads");
+			} finally {
+				pool.shutdown();
+			}
+		}
+	}
+
+	@Test
+	public void testAllPairsConnected() {
+		Random random = new Random(15);
+		for (int i = 0; i < 20; i++)
+			check(createRandomGraph(random, 1 + random.nextInt(150), false).freeze());
+	}
+
+	@Test
+	public void testAllPairsDisconnected() {
+		Random random = new Random(16);
+		for (int i = 0; i < 20; i++) {
+			int nodeCount = 20 + random.nextInt(130);
+			CompactGraph<Point> compact = createRandomGraph(random, nodeCount, true).freeze();
+			check(compact);
+
+			// Knoten ohne Kanten erreichen nur sich selbst
+			double[] distances = compact.allPairsDistances(ForkJoinPool.commonPool());
+			for (int node = 0; node < nodeCount; node += 10) {
+				for (int other = 0; other < nodeCount; other++)
+					assertEquals(other == node ? 0 : Double.POSITIVE_INFINITY, distances[node * nodeCount + other]);
+			}
+
+			// Zwischen den beiden Hälften gibt es keinen Pfad
+			assertEquals(Double.POSITIVE_INFINITY, distances[1 * nodeCount + nodeCount - 1]);
+			assertEquals(Double.POSITIVE_INFINITY, distances[(nodeCount - 1) * nodeCount + 1]);
+		}
+	}
+
+	@Test
+	public void testAllPairsEmpty() {
+		CompactGraph<Point> compact = new Graph<Point>().freeze();
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			assertEquals(0, compact.allPairsDistances(pool).length);
+		} finally {
+			pool.shutdown();
+		}
+	}
+}
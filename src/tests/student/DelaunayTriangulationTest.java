@@ -0,0 +1,121 @@
+package tests.student;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import base.*;
+
+import java.util.*;
+
+public class DelaunayTriangulationTest {
+
+	private static double squaredDistance(double[] x, double[] y, int a, int b) {
+		double dx = x[a] - x[b], dy = y[a] - y[b];
+		return dx * dx + dy * dy;
+	}
+
+	private static Set<Long> toSet(int[] edges, int pointCount) {
+		Set<Long> result = new HashSet<>();
+		for (int e = 0; e < edges.length; e += 2) {
+			int a = Math.min(edges[e], edges[e + 1]), b = Math.max(edges[e], edges[e + 1]);
+			assertTrue(a != b);
+			assertTrue(result.add((long) a * pointCount + b), "Doppelte Kante " + a + " - " + b);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Gabriel-Graph per Definition: Kein anderer Punkt liegt im oder auf dem Kreis mit dem Durchmesser ab
+	 */
+	private static Set<Long> bruteForceGabriel(double[] x, double[] y) {
+		Set<Long> result = new HashSet<>();
+		for (int a = 0; a < x.length; a++) {
+			for (int b = a + 1; b < x.length; b++) {
+				boolean empty = true;
+				for (int c = 0; c < x.length && empty; c++) {
+					if (c != a && c != b)
+						empty = (x[a] - x[c]) * (x[b] - x[c]) + (y[a] - y[c]) * (y[b] - y[c]) > 0;
+				}
+
+				if (empty)
+					result.add((long) a * x.length + b);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Relative-Nachbarschafts-Graph per Definition: Kein anderer Punkt liegt näher an a und b als a und b zueinander
+	 */
+	private static Set<Long> bruteForceRelativeNeighbourhood(double[] x, double[] y) {
+		Set<Long> result = new HashSet<>();
+		for (int a = 0; a < x.length; a++) {
+			for (int b = a + 1; b < x.length; b++) {
+				double length = squaredDistance(x, y, a, b);
+				boolean empty = true;
+				for (int c = 0; c < x.length && empty; c++) {
+					if (c != a && c != b)
+						empty = Math.max(squaredDistance(x, y, a, c), squaredDistance(x, y, b, c)) >= length;
+				}
+
+				if (empty)
+					result.add((long) a * x.length + b);
+			}
+		}
+
+		return result;
+	}
+
+	private static void check(double[] x, double[] y) {
+		DelaunayTriangulation triangulation = new DelaunayTriangulation(x, y);
+		assertEquals(x.length, triangulation.getPointCount());
+
+		Set<Long> edges = toSet(triangulation.getEdges(), x.length);
+		Set<Long> gabriel = toSet(triangulation.getGabrielEdges(), x.length);
+		Set<Long> relativeNeighbourhood = toSet(triangulation.getRelativeNeighbourhoodEdges(), x.length);
+
+		assertEquals(bruteForceGabriel(x, y), gabriel);
+		assertEquals(bruteForceRelativeNeighbourhood(x, y), relativeNeighbourhood);
+		assertTrue(edges.containsAll(gabriel));
+		assertTrue(gabriel.containsAll(relativeNeighbourhood));
+	}
+
+	@Test
+	public void testRandomPoints() {
+		Random random = new Random(18);
+		for (int i = 0; i < 300; i++) {
+			int count = 2 + random.nextInt(60);
+			double[] x = new double[count], y = new double[count];
+			for (int j = 0; j < count; j++) {
+				x[j] = random.nextDouble() * 1000;
+				y[j] = random.nextDouble() * 600;
+			}
+
+			check(x, y);
+		}
+	}
+
+	/**
+	 * Punkte auf einem groben Raster, sodass viele Punkte auf einer Geraden oder einem gemeinsamen Kreis liegen
+	 */
+	@Test
+	public void testLatticePoints() {
+		Random random = new Random(19);
+		for (int i = 0; i < 300; i++) {
+			int count = 2 + random.nextInt(30);
+			Set<Long> used = new HashSet<>();
+			double[] x = new double[count], y = new double[count];
+			for (int j = 0; j < count; j++) {
+				do {
+					x[j] = random.nextInt(8) * 50;
+					y[j] = random.nextInt(6) * 50;
+				} while (!used.add((long) x[j] * 1000 + (long) y[j]));
+			}
+
+			check(x, y);
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package tests.student;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import base.*;
+import game.Player;
+import game.map.*;
+import game.players.Human;
+
+import java.awt.Color;
+import java.util.*;
+
+public class FrontLineTest {
+
+	/**
+	 * Dijkstra ohne Heap von allen fremden Burgen aus, erweitert werden nur die Burgen des Spielers
+	 */
+	private static Map<Castle, Double> expectedDistances(GameMap map, Player player) {
+		Map<Castle, Double> distances = new HashMap<>();
+		Set<Castle> settled = new HashSet<>();
+		for (Castle castle : map.getCastles()) {
+			if (castle.getOwner() != player)
+				distances.put(castle, 0.0);
+		}
+
+		while (true) {
+			Castle current = null;
+			for (Map.Entry<Castle, Double> entry : distances.entrySet()) {
+				if (!settled.contains(entry.getKey()) && (current == null || entry.getValue() < distances.get(current)))
+					current = entry.getKey();
+			}
+
+			if (current == null)
+				return distances;
+
+			settled.add(current);
+			if (current.getOwner() != player && distances.get(current) > 0)
+				continue;
+
+			Node<Castle> node = map.getGraph().getNode(current);
+			for (Edge<Castle> edge : map.getGraph().getEdges(node)) {
+				Castle other = edge.getOtherNode(node).getValue();
+				double value = distances.get(current) + current.distance(other);
+				if (!distances.containsKey(other) || value < distances.get(other))
+					distances.put(other, value);
+			}
+		}
+	}
+
+	@Test
+	public void testFrontLine() {
+		Random random = new Random(13);
+		Player player = new Human("Erster", Color.RED);
+		Player enemy = new Human("Zweiter", Color.BLUE);
+
+		for (EdgeMode edgeMode : EdgeMode.values()) {
+			GameMap map = GameMap.generateRandomMap(30, 20, 40, 14, 3, edgeMode, 13L);
+			for (int round = 0; round < 10; round++) {
+				for (Castle castle : map.getCastles()) {
+					int owner = random.nextInt(5);
+					castle.setOwner(owner < 3 ? player : owner == 3 ? enemy : null);
+				}
+
+				Map<Castle, Double> expected = expectedDistances(map, player);
+				FrontLine frontLine = new FrontLine(map, player);
+				for (Castle castle : map.getCastles()) {
+					if (castle.getOwner() != player)
+						continue;
+
+					Castle front = frontLine.getNearestFrontCastle(castle);
+					if (!expected.containsKey(castle)) {
+						assertEquals(-1.0, frontLine.getDistance(castle));
+						assertNull(front);
+						continue;
+					}
+
+					assertEquals(expected.get(castle), frontLine.getDistance(castle), 1e-9);
+
+					// Die Burg an der Front grenzt an die fremde Burg, über die der kürzeste Weg führt
+					assertTrue(front.getOwner() == player);
+					assertTrue(frontLine.getDistance(front) <= frontLine.getDistance(castle));
+					boolean adjacent = false;
+					Node<Castle> node = map.getGraph().getNode(front);
+					for (Edge<Castle> edge : map.getGraph().getEdges(node)) {
+						Castle other = edge.getOtherNode(node).getValue();
+						if (other.getOwner() != player && Math.abs(front.distance(other) - frontLine.getDistance(front)) < 1e-9)
+							adjacent = true;
+					}
+
+					assertTrue(adjacent);
+				}
+
+				frontLine.release();
+			}
+		}
+	}
+}
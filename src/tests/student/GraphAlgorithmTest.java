@@ -0,0 +1,564 @@
+package tests.student;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import base.*;
+
+import java.util.*;
+
+public class GraphAlgorithmTest {
+
+	/**
+	 * Suche mit festen Kantengewichten sowie gesperrten Knoten und Kanten
+	 */
+	private static class TestAlgorithm extends GraphAlgorithm<Integer> {
+
+		private final TestGraph testGraph;
+
+		TestAlgorithm(TestGraph testGraph, Node<Integer> source) {
+			super(testGraph.graph, source);
+			this.testGraph = testGraph;
+		}
+
+		TestAlgorithm(TestGraph testGraph, Collection<Node<Integer>> sources) {
+			super(testGraph.graph, sources);
+			this.testGraph = testGraph;
+		}
+
+		@Override
+		protected double getValue(Edge<Integer> edge) {
+			return testGraph.weights.get(edge);
+		}
+
+		@Override
+		protected boolean isPassable(Edge<Integer> edge) {
+			return !testGraph.blockedEdges.contains(edge);
+		}
+
+		@Override
+		protected boolean isPassable(Node<Integer> node) {
+			return !testGraph.blockedNodes.contains(node);
+		}
+	}
+
+	private static class TestGraph {
+		private final Graph<Integer> graph = new Graph<>();
+		private final Map<Edge<Integer>, Double> weights = new HashMap<>();
+		private final Set<Node<Integer>> blockedNodes = new HashSet<>();
+		private final Set<Edge<Integer>> blockedEdges = new HashSet<>();
+
+		Edge<Integer> addEdge(Node<Integer> a, Node<Integer> b, double weight) {
+			Edge<Integer> edge = graph.addEdge(a, b);
+			weights.put(edge, weight);
+			return edge;
+		}
+	}
+
+	/**
+	 * Erzeugt einen zufälligen Graphen mit ganzzahligen Gewichten, einzelne Knoten und Kanten sind gesperrt
+	 */
+	private static TestGraph createRandomGraph(Random random) {
+		TestGraph testGraph = new TestGraph();
+		int nodeCount = 2 + random.nextInt(7);
+		double edgeProbability = 0.2 + 0.5 * random.nextDouble();
+
+		List<Node<Integer>> nodes = new ArrayList<>();
+		for (int i = 0; i < nodeCount; i++) {
+			nodes.add(testGraph.graph.addNode(i));
+			if (random.nextInt(6) == 0)
+				testGraph.blockedNodes.add(nodes.get(i));
+		}
+
+		for (int i = 0; i < nodeCount; i++) {
+			for (int j = i + 1; j < nodeCount; j++) {
+				if (random.nextDouble() < edgeProbability) {
+					Edge<Integer> edge = testGraph.addEdge(nodes.get(i), nodes.get(j), 1 + random.nextInt(9));
+					if (random.nextInt(8) == 0)
+						testGraph.blockedEdges.add(edge);
+				}
+			}
+		}
+
+		return testGraph;
+	}
+
+	/**
+	 * Zählt alle schleifenfreien Pfade vom Start- zum Zielknoten auf. Start und Ziel dürfen gesperrt sein,
+	 * alle Knoten dazwischen müssen passierbar sein.
+	 * @return je Pfad der Wert und die Anzahl der Kanten
+	 */
+	private static List<double[]> enumeratePaths(TestGraph testGraph, Node<Integer> source, Node<Integer> target) {
+		List<double[]> paths = new ArrayList<>();
+		Set<Node<Integer>> visited = new HashSet<>();
+		visited.add(source);
+		enumeratePaths(testGraph, source, target, visited, 0, 0, paths);
+		return paths;
+	}
+
+	private static void enumeratePaths(TestGraph testGraph, Node<Integer> node, Node<Integer> target, Set<Node<Integer>> visited,
+			double value, int hops, List<double[]> paths) {
+		for (Edge<Integer> edge : testGraph.graph.getEdges(node)) {
+			Node<Integer> other = edge.getOtherNode(node);
+			if (testGraph.blockedEdges.contains(edge) || visited.contains(other))
+				continue;
+
+			double otherValue = value + testGraph.weights.get(edge);
+			if (other == target) {
+				paths.add(new double[] {otherValue, hops + 1});
+			} else if (!testGraph.blockedNodes.contains(other)) {
+				visited.add(other);
+				enumeratePaths(testGraph, other, target, visited, otherValue, hops + 1, paths);
+				visited.remove(other);
+			}
+		}
+	}
+
+	private static double shortestValue(List<double[]> paths) {
+		double min = Double.POSITIVE_INFINITY;
+		for (double[] path : paths)
+			min = Math.min(min, path[0]);
+
+		return min;
+	}
+
+	/**
+	 * Prüft, dass die Kanten einen gültigen Pfad vom Start- zum Zielknoten bilden
+	 * @return der Wert des Pfads
+	 */
+	private static double checkPath(TestGraph testGraph, Node<Integer> source, Node<Integer> target, List<Edge<Integer>> path) {
+		Node<Integer> node = source;
+		double value = 0;
+		for (Edge<Integer> edge : path) {
+			assertTrue(node == source || !testGraph.blockedNodes.contains(node), "Pfad führt über einen gesperrten Knoten");
+			assertTrue(!testGraph.blockedEdges.contains(edge), "Pfad verwendet eine gesperrte Kante");
+			assertTrue(edge.getNodeA() == node || edge.getNodeB() == node, "Pfad ist nicht zusammenhängend");
+			node = edge.getOtherNode(node);
+			value += testGraph.weights.get(edge);
+		}
+
+		assertTrue(node == target, "Pfad endet nicht am Zielknoten");
+		return value;
+	}
+
+	private static double pathValue(TestGraph testGraph, Node<Integer> source, Node<Integer> target, List<Edge<Integer>> path) {
+		return path == null ? Double.POSITIVE_INFINITY : checkPath(testGraph, source, target, path);
+	}
+
+	@Test
+	public void testBidirectionalRandom() {
+		Random random = new Random(8);
+		for (int i = 0; i < 500; i++) {
+			TestGraph testGraph = createRandomGraph(random);
+			List<Node<Integer>> nodes = testGraph.graph.getNodes();
+
+			for (Node<Integer> source : nodes) {
+				for (Node<Integer> target : nodes) {
+					if (source == target)
+						continue;
+
+					double expected = shortestValue(enumeratePaths(testGraph, source, target));
+					TestAlgorithm algorithm = new TestAlgorithm(testGraph, source);
+					assertEquals(expected, pathValue(testGraph, source, target, algorithm.findPathBidirectional(target)));
+					assertEquals(expected, pathValue(testGraph, source, target, algorithm.findPath(target)));
+					assertEquals(expected, pathValue(testGraph, source, target, algorithm.findPathAStar(target)));
+					algorithm.release();
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testBidirectionalBlocked() {
+		// 0 - 1 - 2 - 3 und ein längerer Umweg 0 - 4 - 3
+		TestGraph testGraph = new TestGraph();
+		List<Node<Integer>> nodes = new ArrayList<>();
+		for (int i = 0; i < 5; i++)
+			nodes.add(testGraph.graph.addNode(i));
+
+		testGraph.addEdge(nodes.get(0), nodes.get(1), 1);
+		testGraph.addEdge(nodes.get(1), nodes.get(2), 1);
+		testGraph.addEdge(nodes.get(2), nodes.get(3), 1);
+		Edge<Integer> detourStart = testGraph.addEdge(nodes.get(0), nodes.get(4), 5);
+		testGraph.addEdge(nodes.get(4), nodes.get(3), 5);
+
+		TestAlgorithm algorithm = new TestAlgorithm(testGraph, nodes.get(0));
+		assertEquals(3.0, pathValue(testGraph, nodes.get(0), nodes.get(3), algorithm.findPathBidirectional(nodes.get(3))));
+
+		// Gesperrter Knoten auf dem kurzen Weg: nur der Umweg bleibt
+		testGraph.blockedNodes.add(nodes.get(2));
+		assertEquals(10.0, pathValue(testGraph, nodes.get(0), nodes.get(3), algorithm.findPathBidirectional(nodes.get(3))));
+
+		// Gesperrter Zielknoten ist trotzdem erreichbar
+		assertEquals(2.0, pathValue(testGraph, nodes.get(0), nodes.get(2), algorithm.findPathBidirectional(nodes.get(2))));
+
+		// Zusätzlich gesperrte Kante: kein Pfad mehr
+		testGraph.blockedEdges.add(detourStart);
+		assertNull(algorithm.findPathBidirectional(nodes.get(3)));
+		assertNull(algorithm.findPath(nodes.get(3)));
+		algorithm.release();
+	}
+
+	/**
+	 * Prüft zusätzlich, dass der Pfad keinen Knoten zweimal besucht
+	 */
+	private static double checkSimplePath(TestGraph testGraph, Node<Integer> source, Node<Integer> target, List<Edge<Integer>> path) {
+		Set<Node<Integer>> visited = new HashSet<>();
+		visited.add(source);
+		Node<Integer> node = source;
+		for (Edge<Integer> edge : path) {
+			node = edge.getOtherNode(node);
+			assertTrue(visited.add(node), "Pfad ist nicht schleifenfrei");
+		}
+
+		return checkPath(testGraph, source, target, path);
+	}
+
+	@Test
+	public void testWithinHopsRandom() {
+		Random random = new Random(14);
+		for (int i = 0; i < 300; i++) {
+			TestGraph testGraph = createRandomGraph(random);
+			List<Node<Integer>> nodes = testGraph.graph.getNodes();
+
+			for (Node<Integer> source : nodes) {
+				TestAlgorithm algorithm = new TestAlgorithm(testGraph, source);
+				for (Node<Integer> target : nodes) {
+					if (source == target)
+						continue;
+
+					List<double[]> paths = enumeratePaths(testGraph, source, target);
+					for (int maxHops = 0; maxHops <= nodes.size(); maxHops++) {
+						double expected = Double.POSITIVE_INFINITY;
+						for (double[] path : paths) {
+							if (path[1] <= maxHops)
+								expected = Math.min(expected, path[0]);
+						}
+
+						List<Edge<Integer>> path = algorithm.findPathWithinHops(target, maxHops);
+						assertEquals(expected, pathValue(testGraph, source, target, path));
+						assertTrue(path == null || path.size() <= maxHops, "Pfad hat zu viele Kanten");
+					}
+				}
+
+				algorithm.release();
+			}
+		}
+	}
+
+	@Test
+	public void testKShortestRandom() {
+		Random random = new Random(15);
+		for (int i = 0; i < 300; i++) {
+			TestGraph testGraph = createRandomGraph(random);
+			List<Node<Integer>> nodes = testGraph.graph.getNodes();
+
+			for (Node<Integer> source : nodes) {
+				TestAlgorithm algorithm = new TestAlgorithm(testGraph, source);
+				for (Node<Integer> target : nodes) {
+					if (source == target)
+						continue;
+
+					List<Double> expected = new ArrayList<>();
+					for (double[] path : enumeratePaths(testGraph, source, target))
+						expected.add(path[0]);
+					Collections.sort(expected);
+
+					for (int k : new int[] {1, 3, expected.size() + 2}) {
+						List<List<Edge<Integer>>> paths = algorithm.findKShortestPaths(target, k);
+						assertEquals(Math.min(k, expected.size()), paths.size());
+						for (int j = 0; j < paths.size(); j++)
+							assertEquals((double) expected.get(j), checkSimplePath(testGraph, source, target, paths.get(j)));
+
+						assertEquals(paths.size(), new HashSet<>(paths).size(), "Pfade sind nicht verschieden");
+					}
+				}
+
+				algorithm.release();
+			}
+		}
+	}
+
+	@Test
+	public void testHopsAndKShortestBlocked() {
+		// 0 - 1 - 2 - 3 mit Gewicht 1 und eine direkte Kante 0 - 3 mit Gewicht 10, Knoten 4 ist nicht verbunden
+		TestGraph testGraph = new TestGraph();
+		List<Node<Integer>> nodes = new ArrayList<>();
+		for (int i = 0; i < 5; i++)
+			nodes.add(testGraph.graph.addNode(i));
+
+		testGraph.addEdge(nodes.get(0), nodes.get(1), 1);
+		testGraph.addEdge(nodes.get(1), nodes.get(2), 1);
+		testGraph.addEdge(nodes.get(2), nodes.get(3), 1);
+		Edge<Integer> shortcut = testGraph.addEdge(nodes.get(0), nodes.get(3), 10);
+
+		Node<Integer> source = nodes.get(0), target = nodes.get(3);
+		TestAlgorithm algorithm = new TestAlgorithm(testGraph, source);
+
+		// Weniger Kanten erlaubt als der kürzeste Pfad benötigt
+		assertEquals(10.0, pathValue(testGraph, source, target, algorithm.findPathWithinHops(target, 1)));
+		assertEquals(10.0, pathValue(testGraph, source, target, algorithm.findPathWithinHops(target, 2)));
+		assertEquals(3.0, pathValue(testGraph, source, target, algorithm.findPathWithinHops(target, 3)));
+		assertNull(algorithm.findPathWithinHops(target, 0));
+
+		// k größer als die Anzahl der Pfade
+		List<List<Edge<Integer>>> paths = algorithm.findKShortestPaths(target, 5);
+		assertEquals(2, paths.size());
+		assertEquals(3.0, checkSimplePath(testGraph, source, target, paths.get(0)));
+		assertEquals(10.0, checkSimplePath(testGraph, source, target, paths.get(1)));
+
+		// Gesperrte Kante und gesperrter Knoten
+		testGraph.blockedEdges.add(shortcut);
+		assertNull(algorithm.findPathWithinHops(target, 2));
+		assertEquals(1, algorithm.findKShortestPaths(target, 5).size());
+		testGraph.blockedNodes.add(nodes.get(2));
+		assertNull(algorithm.findPathWithinHops(target, 5));
+		assertTrue(algorithm.findKShortestPaths(target, 5).isEmpty());
+
+		// Nicht erreichbarer Zielknoten
+		assertNull(algorithm.findPathWithinHops(nodes.get(4), 5));
+		assertTrue(algorithm.findKShortestPaths(nodes.get(4), 5).isEmpty());
+		algorithm.release();
+	}
+
+	@Test
+	public void testReachableAndPredecessors() {
+		Random random = new Random(11);
+		for (int i = 0; i < 500; i++) {
+			TestGraph testGraph = createRandomGraph(random);
+			List<Node<Integer>> nodes = testGraph.graph.getNodes();
+
+			for (Node<Integer> source : nodes) {
+				TestAlgorithm algorithm = new TestAlgorithm(testGraph, source);
+				BitSet reachable = algorithm.getReachableNodes();
+				int[] predecessors = algorithm.getPredecessors();
+				assertEquals(-1, predecessors[source.getId()]);
+
+				for (Node<Integer> node : nodes) {
+					List<Edge<Integer>> path = algorithm.getPath(node);
+					boolean expected = node != source && !enumeratePaths(testGraph, source, node).isEmpty();
+					assertEquals(expected, reachable.get(node.getId()));
+					assertEquals(expected, path != null);
+					if (path == null) {
+						assertEquals(-1, predecessors[node.getId()]);
+						continue;
+					}
+
+					// Rückwärts über die Vorgänger muss derselbe Pfad entstehen
+					List<Node<Integer>> pathNodes = new ArrayList<>();
+					Node<Integer> current = source;
+					pathNodes.add(current);
+					for (Edge<Integer> edge : path) {
+						current = edge.getOtherNode(current);
+						pathNodes.add(current);
+					}
+
+					List<Node<Integer>> predecessorNodes = new ArrayList<>();
+					for (int id = node.getId(); id != -1; id = predecessors[id])
+						predecessorNodes.add(nodes.get(id));
+					Collections.reverse(predecessorNodes);
+
+					assertEquals(pathNodes, predecessorNodes);
+				}
+
+				algorithm.release();
+			}
+		}
+	}
+
+	/**
+	 * Kürzeste Werte von einem Startknoten zu allen Knoten, -1 für nicht erreichbare Knoten
+	 */
+	private static double[] expectedDistances(TestGraph testGraph, Node<Integer> source) {
+		List<Node<Integer>> nodes = testGraph.graph.getNodes();
+		double[] result = new double[nodes.size()];
+		for (Node<Integer> node : nodes) {
+			double value = node == source ? 0 : shortestValue(enumeratePaths(testGraph, source, node));
+			result[node.getId()] = value == Double.POSITIVE_INFINITY ? -1 : value;
+		}
+
+		return result;
+	}
+
+	@Test
+	public void testSetSourceReuse() {
+		Random random = new Random(12);
+		for (int i = 0; i < 300; i++) {
+			TestGraph testGraph = createRandomGraph(random);
+			List<Node<Integer>> nodes = testGraph.graph.getNodes();
+			TestAlgorithm reused = new TestAlgorithm(testGraph, nodes.get(0));
+
+			for (int j = 0; j < 3 * nodes.size(); j++) {
+				Node<Integer> source = nodes.get(random.nextInt(nodes.size()));
+				Node<Integer> target = nodes.get(random.nextInt(nodes.size()));
+				reused.setSource(source);
+
+				// Teilweise nur bis zum Ziel suchen, damit der nächste Startknoten auf einen unvollständigen Zustand trifft
+				if (random.nextBoolean())
+					reused.findPath(target);
+
+				TestAlgorithm fresh = new TestAlgorithm(testGraph, source);
+				assertTrue(Arrays.equals(fresh.getDistances(), reused.getDistances()));
+				assertTrue(Arrays.equals(expectedDistances(testGraph, source), reused.getDistances()));
+				fresh.release();
+			}
+
+			reused.release();
+		}
+	}
+
+	@Test
+	public void testInterleavedSearches() {
+		Random random = new Random(13);
+		for (int i = 0; i < 300; i++) {
+			TestGraph testGraph = createRandomGraph(random);
+			List<Node<Integer>> nodes = testGraph.graph.getNodes();
+
+			for (Node<Integer> source : nodes) {
+				TestAlgorithm algorithm = new TestAlgorithm(testGraph, source);
+				double[] expected = expectedDistances(testGraph, source);
+
+				for (int j = 0; j < 3 * nodes.size(); j++) {
+					Node<Integer> target = nodes.get(random.nextInt(nodes.size()));
+					double expectedValue = target == source || expected[target.getId()] == -1 ? Double.POSITIVE_INFINITY : expected[target.getId()];
+
+					switch (random.nextInt(4)) {
+						case 0:
+							assertEquals(expectedValue, pathValue(testGraph, source, target, algorithm.findPathAStar(target)));
+							break;
+						case 1:
+							assertEquals(expectedValue, pathValue(testGraph, source, target, algorithm.findPath(target)));
+							break;
+						case 2:
+							assertEquals(expectedValue, pathValue(testGraph, source, target, algorithm.findPathBidirectional(target)));
+							break;
+						default:
+							algorithm.run();
+							assertEquals(expectedValue, pathValue(testGraph, source, target, algorithm.getPath(target)));
+							assertTrue(Arrays.equals(expected, algorithm.getDistances()));
+					}
+				}
+
+				algorithm.release();
+			}
+		}
+	}
+
+	@Test
+	public void testReleaseTwice() {
+		Random random = new Random(16);
+		TestGraph testGraph = createRandomGraph(random);
+		while (testGraph.graph.getNodes().size() < 4)
+			testGraph = createRandomGraph(random);
+
+		List<Node<Integer>> nodes = testGraph.graph.getNodes();
+		TestAlgorithm released = new TestAlgorithm(testGraph, nodes.get(0));
+		released.findPathBidirectional(nodes.get(1));
+		released.release();
+		released.release();
+
+		// Alle danach erzeugten Suchen müssen eigenen Arbeitsspeicher haben. Jede Suche wird vollständig ausgeführt,
+		// bevor die Ergebnisse der anderen geprüft werden, ein geteilter Arbeitsspeicher würde diese überschreiben.
+		TestAlgorithm first = new TestAlgorithm(testGraph, nodes.get(2));
+		TestAlgorithm second = new TestAlgorithm(testGraph, nodes.get(3));
+		double expected = shortestValue(enumeratePaths(testGraph, nodes.get(2), nodes.get(0)));
+		assertEquals(expected, pathValue(testGraph, nodes.get(2), nodes.get(0), first.findPathBidirectional(nodes.get(0))));
+		first.run();
+		second.run();
+		assertTrue(Arrays.equals(expectedDistances(testGraph, nodes.get(2)), first.getDistances()));
+		assertTrue(Arrays.equals(expectedDistances(testGraph, nodes.get(3)), second.getDistances()));
+		first.release();
+		second.release();
+	}
+
+	/**
+	 * Der kleinste Wert über die Suchen von jedem einzelnen Startknoten, -1 falls kein Startknoten den Knoten erreicht
+	 */
+	private static double[] minimumDistances(TestGraph testGraph, Collection<Node<Integer>> sources) {
+		double[] result = new double[testGraph.graph.getNodes().size()];
+		Arrays.fill(result, -1);
+		for (Node<Integer> source : sources) {
+			TestAlgorithm single = new TestAlgorithm(testGraph, source);
+			double[] distances = single.getDistances();
+			for (int id = 0; id < result.length; id++) {
+				if (distances[id] != -1 && (result[id] == -1 || distances[id] < result[id]))
+					result[id] = distances[id];
+			}
+
+			single.release();
+		}
+
+		return result;
+	}
+
+	@Test
+	public void testMultiSourceRandom() {
+		Random random = new Random(13);
+		for (int i = 0; i < 500; i++) {
+			TestGraph testGraph = createRandomGraph(random);
+			List<Node<Integer>> nodes = testGraph.graph.getNodes();
+			TestAlgorithm reused = new TestAlgorithm(testGraph, nodes.get(0));
+
+			for (int j = 0; j < 4; j++) {
+				List<Node<Integer>> sources = new ArrayList<>();
+				for (Node<Integer> node : nodes) {
+					if (random.nextInt(3) == 0)
+						sources.add(node);
+				}
+
+				if (sources.isEmpty())
+					sources.add(nodes.get(random.nextInt(nodes.size())));
+
+				double[] expected = minimumDistances(testGraph, sources);
+				TestAlgorithm multi = new TestAlgorithm(testGraph, sources);
+				assertTrue(Arrays.equals(expected, multi.getDistances()));
+				multi.release();
+
+				reused.setSources(sources);
+				assertTrue(Arrays.equals(expected, reused.getDistances()));
+
+				// Jeder Pfad beginnt an einem Startknoten und hat den erwarteten Wert
+				for (Node<Integer> node : nodes) {
+					List<Edge<Integer>> path = reused.getPath(node);
+					if (path == null) {
+						assertTrue(expected[node.getId()] <= 0);
+						continue;
+					}
+
+					Node<Integer> start = node;
+					for (int k = path.size() - 1; k >= 0; k--)
+						start = path.get(k).getOtherNode(start);
+
+					assertTrue(sources.contains(start));
+					assertEquals(expected[node.getId()], checkPath(testGraph, start, node, path));
+				}
+			}
+
+			reused.release();
+		}
+	}
+
+	@Test
+	public void testWithinHopsLargeLimit() {
+		// Pfad 0 - 1 - ... - 99
+		TestGraph testGraph = new TestGraph();
+		List<Node<Integer>> nodes = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			nodes.add(testGraph.graph.addNode(i));
+			if (i > 0)
+				testGraph.addEdge(nodes.get(i - 1), nodes.get(i), 1);
+		}
+
+		TestAlgorithm algorithm = new TestAlgorithm(testGraph, nodes.get(0));
+		for (int maxHops : new int[] {Integer.MAX_VALUE, 30_000_000, 1000, 99}) {
+			assertEquals(5.0, pathValue(testGraph, nodes.get(0), nodes.get(5), algorithm.findPathWithinHops(nodes.get(5), maxHops)));
+			assertEquals(99.0, pathValue(testGraph, nodes.get(0), nodes.get(99), algorithm.findPathWithinHops(nodes.get(99), maxHops)));
+		}
+
+		assertNull(algorithm.findPathWithinHops(nodes.get(99), 98));
+		assertNull(algorithm.findPathWithinHops(nodes.get(0), Integer.MAX_VALUE));
+		algorithm.release();
+	}
+}
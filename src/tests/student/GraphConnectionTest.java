@@ -38,5 +38,30 @@ public class GraphConnectionTest {
 		assertEquals
 				(test1.allNodesConnected(), false);
 	}
+	
+	@Test
+	public void testComponents() {
+		Graph<Integer> test1 = new Graph<>();
+		Node<Integer> a = test1.addNode(1);
+		Node<Integer> b = test1.addNode(2);
+		Node<Integer> c = test1.addNode(3);
+		Node<Integer> d = test1.addNode(4);
+		Node<Integer> e = test1.addNode(5);
+		
+		test1.addEdge(a, b);
+		test1.addEdge(c, d);
+		
+		assertEquals(3, test1.componentCount());
+		assertEquals(3, test1.components().size());
+		assertEquals(true, test1.areConnected(a, b));
+		assertEquals(false, test1.areConnected(b, c));
+		
+		test1.addEdge(b, c);
+		test1.addEdge(d, e);
+		
+		assertEquals(1, test1.componentCount());
+		assertEquals(5, test1.components().get(0).size());
+		assertEquals(true, test1.allNodesConnected());
+	}
 
 }
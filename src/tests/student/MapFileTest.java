@@ -0,0 +1,129 @@
+package tests.student;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import base.*;
+import game.map.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+public class MapFileTest {
+
+	// Kopf: Kennung, Version, Breite, Höhe, Skalierung, zwei Startwerte und die Anzahl der Burgen
+	private static final int FIRST_CASTLE = 4 * 5 + 8 * 2 + 4;
+
+	private static Set<String> edgeNames(GameMap map) {
+		Set<String> result = new HashSet<>();
+		for (Edge<Castle> edge : map.getEdges()) {
+			String a = edge.getNodeA().getValue().getName(), b = edge.getNodeB().getValue().getName();
+			result.add(a.compareTo(b) < 0 ? a + " - " + b : b + " - " + a);
+		}
+
+		return result;
+	}
+
+	private static GameMap writeAndRead(GameMap map) throws IOException {
+		Path path = Files.createTempFile("map", ".gocm");
+		try {
+			MapFile.write(map, path);
+			return MapFile.read(path);
+		} finally {
+			Files.deleteIfExists(path);
+		}
+	}
+
+	private static void readModified(GameMap map, int position, byte value) throws IOException {
+		Path path = Files.createTempFile("map", ".gocm");
+		try {
+			MapFile.write(map, path);
+			byte[] data = Files.readAllBytes(path);
+			data[position < 0 ? data.length + position : position] = value;
+			Files.write(path, data);
+			MapFile.read(path);
+		} finally {
+			Files.deleteIfExists(path);
+		}
+	}
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		for (EdgeMode edgeMode : EdgeMode.values()) {
+			GameMap map = GameMap.generateRandomMap(30, 20, 40, 14, 3, edgeMode, 25L);
+			GameMap loaded = writeAndRead(map);
+
+			assertEquals(map.getWidth(), loaded.getWidth());
+			assertEquals(map.getHeight(), loaded.getHeight());
+			assertEquals(map.getSeed(), loaded.getSeed());
+
+			assertEquals(map.getKingdoms().size(), loaded.getKingdoms().size());
+			for (int i = 0; i < map.getKingdoms().size(); i++) {
+				assertEquals(map.getKingdoms().get(i).getType(), loaded.getKingdoms().get(i).getType());
+				assertEquals(map.getKingdoms().get(i).getCentre(), loaded.getKingdoms().get(i).getCentre());
+			}
+
+			assertEquals(map.getCastles().size(), loaded.getCastles().size());
+			for (int i = 0; i < map.getCastles().size(); i++) {
+				Castle castle = map.getCastles().get(i), loadedCastle = loaded.getCastles().get(i);
+				assertEquals(castle.getName(), loadedCastle.getName());
+				assertEquals(castle.getLocationOnMap(), loadedCastle.getLocationOnMap());
+				assertEquals(map.getKingdoms().indexOf(castle.getKingdom()), loaded.getKingdoms().indexOf(loadedCastle.getKingdom()));
+			}
+
+			assertEquals(edgeNames(map), edgeNames(loaded));
+
+			for (int y = 0; y < map.getHeight(); y += 37) {
+				for (int x = 0; x < map.getWidth(); x += 41)
+					assertEquals(map.getTerrain(x, y), loaded.getTerrain(x, y));
+			}
+		}
+	}
+
+	@Test
+	public void testCorruptFile() throws IOException {
+		GameMap map = GameMap.generateRandomMap(30, 20, 40, 14, 3, EdgeMode.GABRIEL, 25L);
+		List<Castle> castles = map.getCastles();
+		Castle last = castles.get(castles.size() - 1);
+		Set<Castle> neighbours = new HashSet<>();
+		for (Edge<Castle> edge : map.getEdges()) {
+			if (edge.getNodeA().getValue() == last || edge.getNodeB().getValue() == last)
+				neighbours.add(edge.getNodeA().getValue() == last ? edge.getNodeB().getValue() : edge.getNodeA().getValue());
+		}
+
+		int other = 0;
+		while (castles.get(other) == last || neighbours.contains(castles.get(other)))
+			other++;
+
+		// Das letzte Ziel der letzten Burg auf eine Burg ohne Kante zu ihr setzen, die Kante hat dann keine Gegenrichtung
+		final byte target = (byte) other;
+		assertThrows(IOException.class, () -> readModified(map, -1, target));
+		// Kennung
+		assertThrows(IOException.class, () -> readModified(map, 0, (byte) 0));
+
+		Path path = Files.createTempFile("map", ".gocm");
+		try {
+			MapFile.write(map, path);
+			byte[] data = Files.readAllBytes(path);
+			Files.write(path, Arrays.copyOf(data, data.length - 3));
+			assertThrows(IOException.class, () -> MapFile.read(path));
+		} finally {
+			Files.deleteIfExists(path);
+		}
+	}
+
+	@Test
+	public void testTerrainMismatch() throws IOException {
+		GameMap map = GameMap.generateRandomMap(30, 20, 40, 14, 3, EdgeMode.GABRIEL, 25L);
+		Castle first = map.getCastles().get(0);
+		byte terrain = map.getTerrain(first.getLocationOnMap().x, first.getLocationOnMap().y);
+
+		// Die Geländeart der ersten Burg folgt auf X, Y und das Königreich
+		IOException exception = assertThrows(IOException.class, () -> readModified(map, FIRST_CASTLE + 4 * 3, (byte) ((terrain + 1) % 6)));
+		assertEquals(null, exception.getCause());
+	}
+}
@@ -0,0 +1,70 @@
+package tests.student;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import base.*;
+import game.Player;
+import game.map.*;
+import game.players.Human;
+import gui.components.MapPanel;
+
+import java.awt.Color;
+
+public class PathCacheTest {
+
+	@Test
+	public void testInvalidateOnOwnerChange() {
+		GameMap map = GameMap.generateRandomMap(30, 20, 40, 14, 3, EdgeMode.NEAREST_NEIGHBOURS, 10L);
+		Player first = new Human("Erster", Color.RED);
+		Player second = new Human("Zweiter", Color.BLUE);
+
+		Edge<Castle> edge = map.getEdges().get(0);
+		Castle source = edge.getNodeA().getValue();
+		Castle neighbour = edge.getNodeB().getValue();
+		for (Castle castle : map.getCastles()) {
+			castle.setOwner(castle == source ? first : second);
+			castle.addTroops(2);
+		}
+
+		PathFinding pathFinding = map.getPathFinding(source, MapPanel.Action.MOVING, first);
+		assertTrue(pathFinding == map.getPathFinding(source, MapPanel.Action.MOVING, first));
+		assertFalse(pathFinding.isReachable(neighbour));
+
+		// Besitzerwechsel über setOwner
+		neighbour.setOwner(first);
+		PathFinding afterOwnerChange = map.getPathFinding(source, MapPanel.Action.MOVING, first);
+		assertTrue(afterOwnerChange != pathFinding);
+		assertTrue(afterOwnerChange.isReachable(neighbour));
+		assertNotNull(afterOwnerChange.getPath(neighbour));
+
+		// Besitzerwechsel, weil keine Truppen mehr übrig sind
+		neighbour.setOwner(second);
+		PathFinding beforeRemove = map.getPathFinding(source, MapPanel.Action.MOVING, first);
+		assertFalse(beforeRemove.isReachable(neighbour));
+		neighbour.removeTroops(1);
+		assertTrue(beforeRemove == map.getPathFinding(source, MapPanel.Action.MOVING, first));
+		neighbour.removeTroops(1);
+		assertEquals(null, neighbour.getOwner());
+
+		PathFinding afterRemove = map.getPathFinding(source, MapPanel.Action.MOVING, first);
+		assertTrue(afterRemove != beforeRemove);
+		assertTrue(afterRemove.isReachable(neighbour));
+	}
+
+	@Test
+	public void testUnchangedOwnerKeepsEntry() {
+		GameMap map = GameMap.generateRandomMap(30, 20, 40, 14, 3, EdgeMode.NEAREST_NEIGHBOURS, 10L);
+		Player player = new Human("Erster", Color.RED);
+		Castle source = map.getCastles().get(0);
+		source.setOwner(player);
+
+		PathFinding pathFinding = map.getPathFinding(source, MapPanel.Action.MOVING, player);
+		source.setOwner(player);
+		assertTrue(pathFinding == map.getPathFinding(source, MapPanel.Action.MOVING, player));
+		assertTrue(pathFinding != map.getPathFinding(source, MapPanel.Action.ATTACKING, player));
+	}
+}
@@ -0,0 +1,51 @@
+package tests.student;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import game.Player;
+import game.map.*;
+import game.players.Human;
+import gui.components.MapPanel;
+
+import java.awt.Color;
+import java.util.*;
+
+public class PathFindingTest {
+
+	/**
+	 * Die erreichbaren Burgen müssen genau die Burgen mit einem Pfad sein, ohne die Startburg
+	 */
+	@Test
+	public void testReachableCastles() {
+		Random random = new Random(11);
+		Player[] players = {new Human("Erster", Color.RED), new Human("Zweiter", Color.BLUE)};
+		for (EdgeMode edgeMode : EdgeMode.values()) {
+			GameMap map = GameMap.generateRandomMap(30, 20, 40, 14, 3, edgeMode, 11L);
+			for (int round = 0; round < 5; round++) {
+				for (Castle castle : map.getCastles())
+					castle.setOwner(random.nextInt(4) == 0 ? null : players[random.nextInt(players.length)]);
+
+				for (Castle source : map.getCastles()) {
+					for (MapPanel.Action action : new MapPanel.Action[] {MapPanel.Action.MOVING, MapPanel.Action.ATTACKING}) {
+						PathFinding pathFinding = new PathFinding(map, source, action, players[0]);
+						Set<Castle> expected = new HashSet<>();
+						for (Castle target : map.getCastles()) {
+							boolean reachable = pathFinding.getPath(target) != null;
+							assertEquals(reachable, pathFinding.isReachable(target));
+							if (reachable)
+								expected.add(target);
+						}
+
+						List<Castle> reachableCastles = pathFinding.getReachableCastles();
+						assertEquals(expected.size(), reachableCastles.size());
+						assertEquals(expected, new HashSet<>(reachableCastles));
+						assertTrue(!expected.contains(source));
+						pathFinding.release();
+					}
+				}
+			}
+		}
+	}
+}
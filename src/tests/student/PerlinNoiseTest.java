@@ -0,0 +1,82 @@
+package tests.student;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import base.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class PerlinNoiseTest {
+	
+	@Test
+	public void testNoiseRow() {
+		PerlinNoise noise = new PerlinNoise(15, 10, 40);
+		int width = noise.getRealSize().width;
+		int height = noise.getRealSize().height;
+		double[] row = new double[width];
+		
+		for (int y = 0; y < height; y++) {
+			noise.getNoiseRow(y, row);
+			for (int x = 0; x < width; x++) {
+				assertEquals(noise.getNoise(x, y), row[x]);
+			}
+		}
+	}
+	
+	@Test
+	public void testNoiseRowOddScale() {
+		PerlinNoise noise = new PerlinNoise(7, 5, 13);
+		int width = noise.getRealSize().width;
+		double[] row = new double[width];
+		
+		noise.getNoiseRow(37, row);
+		for (int x = 0; x < width; x++) {
+			assertEquals(noise.getNoise(x, 37), row[x]);
+		}
+	}
+	
+	@Test
+	public void testNoiseRowOctaves() {
+		PerlinNoise noise = new PerlinNoise(9, 7, 17, 5, 1.7, 0.6);
+		int width = noise.getRealSize().width;
+		double[] row = new double[width - 20];
+		
+		for (int y = 0; y < noise.getRealSize().height; y += 3) {
+			noise.getNoiseRow(y, 20, width, row);
+			for (int x = 20; x < width; x++) {
+				assertEquals(noise.getNoise(x, y), row[x - 20]);
+				assertTrue(row[x - 20] >= 0 && row[x - 20] <= 1);
+			}
+		}
+	}
+	
+	@Test
+	public void testSeed() {
+		PerlinNoise first = new PerlinNoise(15, 10, 40, new Random(42));
+		PerlinNoise second = new PerlinNoise(15, 10, 40, new Random(42));
+		
+		for (int y = 0; y < first.getRealSize().height; y += 7) {
+			for (int x = 0; x < first.getRealSize().width; x += 7) {
+				assertEquals(first.getNoise(x, y), second.getNoise(x, y));
+			}
+		}
+	}
+	
+	@Test
+	public void testNoiseRowInvalidRange() {
+		PerlinNoise noise = new PerlinNoise(15, 10, 40, new Random(21));
+		int width = noise.getRealSize().width, height = noise.getRealSize().height;
+		double[] row = new double[width];
+		
+		int[][] ranges = {{-1, 0, 10}, {height, 0, 10}, {5, -1, 10}, {5, 10, 5}, {5, 0, width + 1}};
+		for (int[] range : ranges) {
+			Arrays.fill(row, 1);
+			noise.getNoiseRow(range[0], range[1], range[2], row);
+			for (int x = 0; x < Math.max(0, range[2] - range[1]) && x < row.length; x++)
+				assertEquals(0, row[x]);
+		}
+	}
+}
@@ -0,0 +1,75 @@
+package tests.student;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import base.*;
+
+import java.util.*;
+
+public class SpatialGridTest {
+
+	private static final double WIDTH = 100;
+	private static final double HEIGHT = 60;
+
+	private static double distance(double[] xs, double[] ys, int index, double x, double y) {
+		double dx = xs[index] - x;
+		double dy = ys[index] - y;
+		return Math.sqrt(dx * dx + dy * dy);
+	}
+
+	/**
+	 * Vergleicht alle Abfragen mit einer linearen Suche über alle Einträge.
+	 * Einträge und Abfragen liegen teilweise außerhalb des Bereichs.
+	 */
+	@Test
+	public void testAgainstLinearScan() {
+		Random random = new Random(17);
+		for (int i = 0; i < 500; i++) {
+			SpatialGrid<Integer> grid = new SpatialGrid<>(WIDTH, HEIGHT, 1 + random.nextDouble() * 30);
+			int count = random.nextInt(60);
+			double[] xs = new double[count], ys = new double[count];
+			for (int j = 0; j < count; j++) {
+				xs[j] = random.nextDouble() * WIDTH * 1.2 - WIDTH * 0.1;
+				ys[j] = random.nextDouble() * HEIGHT * 1.2 - HEIGHT * 0.1;
+				grid.add(j, xs[j], ys[j]);
+			}
+
+			assertEquals(count, grid.size());
+			for (int query = 0; query < 10; query++) {
+				double x = random.nextDouble() * WIDTH * 2 - WIDTH * 0.5;
+				double y = random.nextDouble() * HEIGHT * 2 - HEIGHT * 0.5;
+				double radius = random.nextInt(5) == 0 ? Double.POSITIVE_INFINITY : random.nextDouble() * 50;
+				int k = random.nextInt(8);
+
+				// Lineare Suche: alle Einträge im Radius, aufsteigend nach Abstand
+				List<Integer> expected = new ArrayList<>();
+				for (int j = 0; j < count; j++) {
+					if (distance(xs, ys, j, x, y) < radius)
+						expected.add(j);
+				}
+				expected.sort(Comparator.comparingDouble(j -> distance(xs, ys, j, x, y)));
+
+				assertEquals(new HashSet<>(expected), new HashSet<>(grid.getWithin(x, y, radius)));
+				assertEquals(!expected.isEmpty(), grid.containsWithin(x, y, radius));
+
+				List<Integer> nearest = grid.getNearest(x, y, k, radius);
+				assertEquals(Math.min(k, expected.size()), nearest.size());
+				for (int j = 0; j < nearest.size(); j++)
+					assertEquals(distance(xs, ys, expected.get(j), x, y), distance(xs, ys, nearest.get(j), x, y));
+			}
+		}
+	}
+
+	@Test
+	public void testNearestOutsideGrid() {
+		SpatialGrid<String> grid = new SpatialGrid<>(WIDTH, HEIGHT, 10);
+		grid.add("a", 5, 5);
+		grid.add("b", 95, 55);
+		grid.add("c", 50, 30);
+
+		assertEquals(Arrays.asList("b", "c"), grid.getNearest(500, 300, 2, Double.POSITIVE_INFINITY));
+		assertEquals(Arrays.asList("a", "c", "b"), grid.getNearest(-200, -200, 5, Double.POSITIVE_INFINITY));
+		assertEquals(0, grid.getNearest(-200, -200, 5, 100).size());
+	}
+}
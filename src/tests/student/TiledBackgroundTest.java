@@ -0,0 +1,49 @@
+package tests.student;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import game.map.*;
+
+public class TiledBackgroundTest {
+
+	/**
+	 * Die Geländeart muss gleich sein, egal ob sie aus einer Kachel gelesen oder einzeln berechnet wird
+	 */
+	@Test
+	public void testTerrainMatchesTiles() {
+		GameMap map = GameMap.generateRandomMap(30, 20, 40, 14, 3, EdgeMode.NEAREST_NEIGHBOURS, 22L);
+		TiledBackground background = map.getBackground();
+		int width = background.getWidth(), height = background.getHeight();
+
+		for (int row = 0; row * TiledBackground.TILE_SIZE < height; row++) {
+			for (int column = 0; column * TiledBackground.TILE_SIZE < width; column++) {
+				int x0 = column * TiledBackground.TILE_SIZE, y0 = row * TiledBackground.TILE_SIZE;
+				int tileWidth = Math.min(TiledBackground.TILE_SIZE, width - x0);
+				int tileHeight = Math.min(TiledBackground.TILE_SIZE, height - y0);
+
+				// Noch nicht im Cache, also einzeln berechnet
+				byte[] computed = new byte[tileWidth * tileHeight];
+				for (int y = 0; y < tileHeight; y += 3) {
+					for (int x = 0; x < tileWidth; x += 3)
+						computed[y * tileWidth + x] = map.getTerrain(x0 + x, y0 + y);
+				}
+
+				background.getTile(column, row);
+				for (int y = 0; y < tileHeight; y += 3) {
+					for (int x = 0; x < tileWidth; x += 3)
+						assertEquals(computed[y * tileWidth + x], map.getTerrain(x0 + x, y0 + y));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testTerrainOutsideMap() {
+		GameMap map = GameMap.generateRandomMap(30, 20, 40, 14, 3, EdgeMode.NEAREST_NEIGHBOURS, 22L);
+		assertEquals(Terrain.WATER, map.getTerrain(-1, 0));
+		assertEquals(Terrain.WATER, map.getTerrain(0, -1));
+		assertEquals(Terrain.WATER, map.getTerrain(map.getWidth(), 0));
+		assertEquals(Terrain.WATER, map.getTerrain(0, map.getHeight()));
+	}
+}